@@ -0,0 +1,32 @@
+package advent;
+
+import advent.generator.InputFormat;
+import advent.generator.InputGenerators;
+import advent.snapshot.SnapshotCodec;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class BenchmarkInputs {
+    private static final long SEED = 2023L;
+
+    public static ByteBuffer generatedBytes(InputFormat format, int size) {
+        byte[] bytes = InputGenerators.generate(format, size, SEED).getBytes(StandardCharsets.US_ASCII);
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    // snapshots are normally memory mapped, so the body is copied into a direct buffer
+    public static <M> ByteBuffer snapshot(SnapshotCodec<M> codec, M model) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            codec.write(model, output);
+        } catch (IOException ex) {
+            throw new IllegalStateException("In-memory snapshot failed", ex);
+        }
+        ByteBuffer snapshot = ByteBuffer.allocateDirect(bytes.size());
+        snapshot.put(bytes.toByteArray()).flip();
+        return snapshot.asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,55 @@
+package advent.day1;
+
+import advent.BenchmarkInputs;
+import advent.ChunkedLineProcessor;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrebuchetBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private ByteBuffer calibrationValues1;
+    private ByteBuffer calibrationValues2;
+    private Trebuchet.Solution2 solution2;
+
+    @Setup
+    public void setUp() {
+        calibrationValues1 = BenchmarkInputs.generatedBytes(InputFormat.CALIBRATION_VALUES, size);
+        calibrationValues2 = BenchmarkInputs.generatedBytes(InputFormat.SPELLED_CALIBRATION_VALUES, size);
+        solution2 = new Trebuchet.Solution2();
+    }
+
+    @Benchmark
+    public long solution1() {
+        return ChunkedLineProcessor.sumChunks(calibrationValues1, CalibrationScanner::new);
+    }
+
+    @Benchmark
+    public long solution1Lines() {
+        return ChunkedLineProcessor.sum(calibrationValues1, () -> Trebuchet.Solution1::calibrationValue);
+    }
+
+    @Benchmark
+    public long solution2() {
+        return ChunkedLineProcessor.sum(calibrationValues2, solution2::lineFunction);
+    }
+}
@@ -0,0 +1,48 @@
+package advent.day10;
+
+import advent.BenchmarkInputs;
+import advent.Grid;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipeMazeBenchmark {
+    @Param({"140", "1000", "4000"})
+    private int size;
+
+    private ByteBuffer input;
+    private Grid blueprint;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkInputs.generatedBytes(InputFormat.PIPES_BLUEPRINT, size);
+        blueprint = parse();
+    }
+
+    @Benchmark
+    public Grid parse() {
+        return PipeMaze.Solution1.parseBlueprint(input);
+    }
+
+    @Benchmark
+    public int solution1() {
+        return PipeMaze.Solution1.cyclePath(PipeMaze.Solution1.findStart(blueprint), blueprint);
+    }
+}
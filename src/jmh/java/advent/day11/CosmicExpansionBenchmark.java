@@ -0,0 +1,54 @@
+package advent.day11;
+
+import advent.BenchmarkInputs;
+import advent.generator.InputFormat;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CosmicExpansionBenchmark {
+    @Param({"32", "64", "128"})
+    private int size;
+
+    private ByteBuffer input;
+    private Set<CosmicExpansion.Galaxy> galaxies;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkInputs.generatedBytes(InputFormat.SPACE_IMAGE, size);
+        galaxies = parse();
+    }
+
+    @Benchmark
+    public Set<CosmicExpansion.Galaxy> parse() {
+        return CosmicExpansion.collectGalaxies(CosmicExpansion.parseImage(input));
+    }
+
+    @Benchmark
+    public int solution1() {
+        return CosmicExpansion.Solution1.sumAllPaths(galaxies);
+    }
+
+    @Benchmark
+    public BigInteger solution2() {
+        return CosmicExpansion.Solution2.sumAllPaths(galaxies);
+    }
+}
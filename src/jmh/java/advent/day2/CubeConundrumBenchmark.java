@@ -0,0 +1,105 @@
+package advent.day2;
+
+import advent.BenchmarkInputs;
+import advent.ChunkedLineProcessor;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CubeConundrumBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private ByteBuffer input;
+    private static final long BAG_SEED = 2023L;
+    private static final int BAGS = 1_000;
+    private static final int MAX_BAG_KUBES = 24;
+
+    private GameTable games;
+    private BagIndex bagIndex;
+    private List<Bag> bags;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkInputs.generatedBytes(InputFormat.KUBE_GAMES, size);
+        games = parse();
+        bagIndex = indexBags();
+        Random random = new Random(BAG_SEED);
+        bags = IntStream.range(0, BAGS)
+                .mapToObj(bag -> new Bag(random.nextInt(MAX_BAG_KUBES), random.nextInt(MAX_BAG_KUBES), random.nextInt(MAX_BAG_KUBES)))
+                .toList();
+    }
+
+    @Benchmark
+    public GameTable parse() {
+        return CubeConundrum.readGames(input);
+    }
+
+    @Benchmark
+    public long solution1() {
+        return CubeConundrum.Solution1.sumPossibleGameIds(games);
+    }
+
+    @Benchmark
+    public long solution2() {
+        return CubeConundrum.Solution2.sumGamePowers(games);
+    }
+
+    @Benchmark
+    public BagIndex indexBags() {
+        return BagIndex.build(games);
+    }
+
+    @Benchmark
+    public List<BagIndex.Fit> bagQueries() {
+        return bagIndex.fitAll(bags);
+    }
+
+    @Benchmark
+    public long bagScans() {
+        long sum = 0;
+        for (Bag bag: bags) {
+            for (int game = 0; game < games.games(); game++) {
+                if (CubeConundrum.Solution1.isGamePossible(games, game, bag)) {
+                    sum += games.id(game);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long chunkedSolution1() {
+        return ChunkedLineProcessor.sum(input, CubeConundrum.Solution1::possibleGameIds);
+    }
+
+    @Benchmark
+    public long chunkedSolution2() {
+        return ChunkedLineProcessor.sum(input, CubeConundrum.Solution2::gamePowers);
+    }
+
+    @Benchmark
+    public long[] chunkedBothParts() {
+        return ChunkedLineProcessor.sums(input, 2, new CubeConundrum.BothParts()::lineAccumulator);
+    }
+}
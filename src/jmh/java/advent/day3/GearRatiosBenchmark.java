@@ -0,0 +1,100 @@
+package advent.day3;
+
+import advent.BenchmarkInputs;
+import advent.Grid;
+import advent.generator.InputFormat;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GearRatiosBenchmark {
+    @Param({"140", "1000", "4000"})
+    private int size;
+
+    private ByteBuffer input;
+    private byte[] inputBytes;
+    private Grid schematic;
+    private NumberLabels labels;
+    private SchematicIndex index;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkInputs.generatedBytes(InputFormat.ENGINE_SCHEMATIC, size);
+        inputBytes = new byte[input.remaining()];
+        input.duplicate().get(inputBytes);
+        schematic = parse();
+        labels = label();
+        index = index();
+    }
+
+    @Benchmark
+    public Grid parse() {
+        return GearRatios.buildSchematicMatrix(input);
+    }
+
+    @Benchmark
+    public NumberLabels label() {
+        return NumberLabels.label(schematic);
+    }
+
+    @Benchmark
+    public int solution1() {
+        return GearRatios.Solution1.calculateAdjacentNumbersSum(labels);
+    }
+
+    @Benchmark
+    public int solution2() {
+        return GearRatios.Solution2.gearRatioSum(labels);
+    }
+
+    @Benchmark
+    public SchematicWindow streaming() throws IOException {
+        return SchematicWindow.read(new ByteArrayInputStream(inputBytes));
+    }
+
+    @Benchmark
+    public long[] bands() {
+        return SchematicBands.sums(schematic);
+    }
+
+    @Benchmark
+    public long[] singleBand() {
+        return SchematicBands.sums(schematic, ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public SchematicIndex index() {
+        return SchematicIndex.build(schematic);
+    }
+
+    @Benchmark
+    public long gearLookups() {
+        long sum = 0;
+        for (int symbol = 0; symbol < index.symbols(); symbol++) {
+            int[] numbers = index.numbersTouching(index.symbolRow(symbol), index.symbolColumn(symbol));
+            if (index.symbol(symbol) == '*' && numbers.length == 2) {
+                sum += (long) index.value(numbers[0]) * index.value(numbers[1]);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,61 @@
+package advent.day4;
+
+import advent.BenchmarkInputs;
+import advent.ChunkedLineProcessor;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScratchcardsBenchmark {
+    @Param({"200", "2000", "20000"})
+    private int size;
+
+    private ByteBuffer input;
+    private List<Scratchcards.Card> cards;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkInputs.generatedBytes(InputFormat.CARDS, size);
+        cards = parse();
+    }
+
+    @Benchmark
+    public List<Scratchcards.Card> parse() {
+        return Scratchcards.readCards(input);
+    }
+
+    @Benchmark
+    public int solution1() {
+        return cards.stream()
+                .mapToInt(Scratchcards.Solution1::score)
+                .sum();
+    }
+
+    @Benchmark
+    public long chunkedSolution1() {
+        return ChunkedLineProcessor.sum(input, Scratchcards.Solution1::scores);
+    }
+
+    @Benchmark
+    public int solution2() {
+        return Scratchcards.Solution2.countWinningScratchcards(cards);
+    }
+}
@@ -0,0 +1,73 @@
+package advent.day5;
+
+import advent.BenchmarkInputs;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FoodProductionProblemBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ByteBuffer input;
+    private Almanac almanac;
+    private AlmanacSnapshotCodec codec;
+    private ByteBuffer snapshot;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkInputs.generatedBytes(InputFormat.ALMANAC, size);
+        almanac = parse();
+        codec = new AlmanacSnapshotCodec();
+        snapshot = BenchmarkInputs.snapshot(codec, almanac);
+    }
+
+    @Benchmark
+    public Almanac parse() {
+        return new AlmanacReader().readAlmanac(input);
+    }
+
+    @Benchmark
+    public Almanac sequentialParse() {
+        return new AlmanacReader().readAlmanacSequentially(input);
+    }
+
+    @Benchmark
+    public Almanac loadSnapshot() {
+        return codec.read(snapshot.duplicate());
+    }
+
+    @Benchmark
+    public long solution1() {
+        return almanac.seeds().stream()
+                .mapToLong(seed -> FoodProductionProblem.Solution1.seedToLocation(seed, almanac.transformationMaps()))
+                .min()
+                .orElse(-1);
+    }
+
+    @Benchmark
+    public long solution2() {
+        return FoodProductionProblem.Solution2.lowestLocation(
+                FoodProductionProblem.PART_2.id(),
+                FoodProductionProblem.Solution2.toSeedRanges(almanac.seeds()),
+                almanac.transformationMaps()
+        );
+    }
+}
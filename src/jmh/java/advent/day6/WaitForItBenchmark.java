@@ -0,0 +1,62 @@
+package advent.day6;
+
+import advent.BenchmarkInputs;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaitForItBenchmark {
+    @Param({"1", "2", "4"})
+    private int size;
+
+    private ByteBuffer input;
+    private List<WaitForIt.RaceDistance> raceDistances;
+    private WaitForIt.RaceDistance raceDistance;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkInputs.generatedBytes(InputFormat.RACE_DISTANCES, size);
+        raceDistances = WaitForIt.Solution1.parseDistances(input);
+        raceDistance = WaitForIt.Solution2.parseDistance(input);
+    }
+
+    @Benchmark
+    public List<WaitForIt.RaceDistance> parse1() {
+        return WaitForIt.Solution1.parseDistances(input);
+    }
+
+    @Benchmark
+    public WaitForIt.RaceDistance parse2() {
+        return WaitForIt.Solution2.parseDistance(input);
+    }
+
+    @Benchmark
+    public long solution1() {
+        return raceDistances.stream()
+                .mapToLong(WaitForIt.RaceDistance::winOptions)
+                .reduce(1L, (a, b) -> a * b);
+    }
+
+    @Benchmark
+    public long solution2() {
+        return raceDistance.winOptions();
+    }
+}
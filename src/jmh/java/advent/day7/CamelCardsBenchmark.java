@@ -0,0 +1,69 @@
+package advent.day7;
+
+import advent.BenchmarkInputs;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CamelCardsBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private ByteBuffer input;
+    private List<Hand> regularHands;
+    private List<Hand> jokerHands;
+    private HandsSnapshotCodec codec;
+    private ByteBuffer snapshot;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkInputs.generatedBytes(InputFormat.HANDS, size);
+        regularHands = parse1();
+        jokerHands = parse2();
+        codec = new HandsSnapshotCodec("regular");
+        snapshot = BenchmarkInputs.snapshot(codec, regularHands);
+    }
+
+    @Benchmark
+    public List<Hand> parse1() {
+        return CamelCards.readHands(input, new CamelCards.Solution1.RegularHandTypeProvider());
+    }
+
+    @Benchmark
+    public List<Hand> parse2() {
+        return CamelCards.readHands(input, new CamelCards.Solution2.JokerHandTypeProvider());
+    }
+
+    @Benchmark
+    public List<Hand> loadSnapshot() {
+        return codec.read(snapshot.duplicate());
+    }
+
+    @Benchmark
+    public int solution1() {
+        return CamelCards.totalWinnings(regularHands, new CamelCards.Solution1.CardComparator());
+    }
+
+    @Benchmark
+    public int solution2() {
+        return CamelCards.totalWinnings(jokerHands, new CamelCards.Solution2.JokerCardComparator());
+    }
+}
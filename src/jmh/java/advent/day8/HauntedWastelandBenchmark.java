@@ -0,0 +1,75 @@
+package advent.day8;
+
+import advent.AsciiTokenizer;
+import advent.BenchmarkInputs;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HauntedWastelandBenchmark {
+    @Param({"3500", "35000", "350000"})
+    private int size;
+
+    private ByteBuffer input;
+    private List<HauntedWasteland.Direction> directions;
+    private Map<String, SimpleEntry<String, String>> navigations;
+    private WastelandSnapshotCodec codec;
+    private ByteBuffer snapshot;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkInputs.generatedBytes(InputFormat.WASTELAND_MAP, size);
+        AsciiTokenizer tokenizer = new AsciiTokenizer(input);
+        directions = HauntedWasteland.readDirections(tokenizer);
+        navigations = HauntedWasteland.readNavigations(tokenizer);
+        codec = new WastelandSnapshotCodec();
+        snapshot = BenchmarkInputs.snapshot(codec, new HauntedWasteland.WastelandMap(directions, navigations));
+    }
+
+    @Benchmark
+    public Map<String, SimpleEntry<String, String>> parse() {
+        AsciiTokenizer tokenizer = new AsciiTokenizer(input);
+        HauntedWasteland.readDirections(tokenizer);
+        return HauntedWasteland.readNavigations(tokenizer);
+    }
+
+    @Benchmark
+    public HauntedWasteland.WastelandMap parallelParse() {
+        return HauntedWasteland.readMap(input, 64 << 10);
+    }
+
+    @Benchmark
+    public HauntedWasteland.WastelandMap loadSnapshot() {
+        return codec.read(snapshot.duplicate());
+    }
+
+    @Benchmark
+    public int solution1() {
+        return HauntedWasteland.Solution1.countSteps(directions, navigations);
+    }
+
+    @Benchmark
+    public long solution2() {
+        return HauntedWasteland.Solution2.countSteps(HauntedWasteland.PART_2.id(), directions, navigations);
+    }
+}
@@ -0,0 +1,52 @@
+package advent.day9;
+
+import advent.BenchmarkInputs;
+import advent.ChunkedLineProcessor;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MirageMaintenanceBenchmark {
+    @Param({"200", "20000", "200000"})
+    private int size;
+
+    private ByteBuffer input;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkInputs.generatedBytes(InputFormat.SENSOR_REPORT, size);
+    }
+
+    // lines are parsed and extrapolated in a single pass, so there is no separate parse benchmark
+    @Benchmark
+    public long solution1() {
+        return ChunkedLineProcessor.sum(input, MirageMaintenance.Solution1::nextValues);
+    }
+
+    @Benchmark
+    public long solution2() {
+        return ChunkedLineProcessor.sum(input, MirageMaintenance.Solution2::previousValues);
+    }
+
+    @Benchmark
+    public long[] bothParts() {
+        return ChunkedLineProcessor.sums(input, 2, new MirageMaintenance.BothParts()::lineAccumulator);
+    }
+}
@@ -0,0 +1,242 @@
+package advent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class AsciiTokenizer {
+    private static final int KEY_RADIX = 63;
+    private static final int MAX_KEY_LENGTH = 10;
+
+    private ByteBuffer buffer;
+    private int position;
+    private int limit;
+
+    public AsciiTokenizer(ByteBuffer buffer) {
+        this(buffer, buffer.position(), buffer.limit());
+    }
+
+    public AsciiTokenizer(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.position = start;
+        this.limit = end;
+    }
+
+    public static AsciiTokenizer of(CharSequence text) {
+        return new AsciiTokenizer(ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    public AsciiTokenizer reset(int start, int end) {
+        this.position = start;
+        this.limit = end;
+        return this;
+    }
+
+    public AsciiTokenizer reset(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        return reset(start, end);
+    }
+
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    public boolean atLineEnd() {
+        return position >= limit || isLineBreak(buffer.get(position));
+    }
+
+    public byte peek() {
+        return buffer.get(position);
+    }
+
+    public byte next() {
+        return buffer.get(position++);
+    }
+
+    public void skipSpaces() {
+        while (position < limit && isSpace(buffer.get(position))) {
+            position++;
+        }
+    }
+
+    public void skipWhitespace() {
+        while (position < limit && (isSpace(buffer.get(position)) || isLineBreak(buffer.get(position)))) {
+            position++;
+        }
+    }
+
+    public void skipLine() {
+        while (position < limit && buffer.get(position) != '\n') {
+            position++;
+        }
+        if (position < limit) {
+            position++;
+        }
+    }
+
+    public int lineEnd() {
+        int end = position;
+        while (end < limit && !isLineBreak(buffer.get(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    public boolean skip(String literal) {
+        skipSpaces();
+        int length = literal.length();
+        if (position + length > limit) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(position + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        position += length;
+        return true;
+    }
+
+    public void expect(String literal) {
+        if (!skip(literal)) {
+            throw new IllegalStateException("Expected '" + literal + "' at offset " + position);
+        }
+    }
+
+    public boolean hasNextNumber() {
+        skipSpaces();
+        if (position >= limit) {
+            return false;
+        }
+        byte current = buffer.get(position);
+        if (current == '-' && position + 1 < limit) {
+            current = buffer.get(position + 1);
+        }
+        return isDigit(current);
+    }
+
+    public int nextInt() {
+        return Math.toIntExact(nextLong());
+    }
+
+    public long nextLong() {
+        skipSpaces();
+        boolean negative = position < limit && buffer.get(position) == '-';
+        if (negative) {
+            position++;
+        }
+        int start = position;
+        // accumulated as a negative value so that Long.MIN_VALUE can be read, overflow throws ArithmeticException
+        long value = 0;
+        while (position < limit && isDigit(buffer.get(position))) {
+            value = Math.subtractExact(Math.multiplyExact(value, 10), buffer.get(position) - '0');
+            position++;
+        }
+        if (position == start) {
+            throw new IllegalStateException("Expected a number at offset " + start);
+        }
+        return negative ? value : Math.negateExact(value);
+    }
+
+    public long nextKey() {
+        skipSpaces();
+        int start = position;
+        long key = 0;
+        while (position < limit && isIdentifierPart(buffer.get(position))) {
+            key = key * KEY_RADIX + keyDigit(buffer.get(position));
+            position++;
+        }
+        if (position == start || position - start > MAX_KEY_LENGTH) {
+            throw new IllegalStateException("Expected an identifier of up to " + MAX_KEY_LENGTH + " characters at offset " + start);
+        }
+        return key;
+    }
+
+    public String nextIdentifier() {
+        skipSpaces();
+        int start = position;
+        while (position < limit && isIdentifierPart(buffer.get(position))) {
+            position++;
+        }
+        if (position == start) {
+            throw new IllegalStateException("Expected an identifier at offset " + start);
+        }
+        byte[] identifier = new byte[position - start];
+        buffer.get(start, identifier);
+        return new String(identifier, StandardCharsets.US_ASCII);
+    }
+
+    public static long key(CharSequence identifier) {
+        if (identifier.length() == 0 || identifier.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Identifier should have 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        long key = 0;
+        for (int i = 0; i < identifier.length(); i++) {
+            char character = identifier.charAt(i);
+            if (!isIdentifierPart((byte) character)) {
+                throw new IllegalArgumentException("Unexpected identifier character " + character);
+            }
+            key = key * KEY_RADIX + keyDigit((byte) character);
+        }
+        return key;
+    }
+
+    public static String identifier(long key) {
+        StringBuilder identifier = new StringBuilder();
+        for (long rest = key; rest > 0; rest /= KEY_RADIX) {
+            identifier.append(lastCharacter(rest));
+        }
+        return identifier.reverse().toString();
+    }
+
+    public static char lastCharacter(long key) {
+        int digit = (int) (key % KEY_RADIX);
+        if (digit <= 10) {
+            return (char) ('0' + digit - 1);
+        }
+        if (digit <= 36) {
+            return (char) ('A' + digit - 11);
+        }
+        return (char) ('a' + digit - 37);
+    }
+
+    public static boolean isDigit(byte character) {
+        return character >= '0' && character <= '9';
+    }
+
+    private static boolean isSpace(byte character) {
+        return character == ' ' || character == '\t';
+    }
+
+    private static boolean isLineBreak(byte character) {
+        return character == '\n' || character == '\r';
+    }
+
+    private static boolean isIdentifierPart(byte character) {
+        return isDigit(character)
+                || (character >= 'A' && character <= 'Z')
+                || (character >= 'a' && character <= 'z');
+    }
+
+    // digits map to 1..10, upper case to 11..36 and lower case to 37..62, so no identifier packs to zero
+    private static int keyDigit(byte character) {
+        if (isDigit(character)) {
+            return character - '0' + 1;
+        }
+        if (character <= 'Z') {
+            return character - 'A' + 11;
+        }
+        return character - 'a' + 37;
+    }
+}
@@ -0,0 +1,191 @@
+package advent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+// solves one puzzle for every file of a directory, or every path listed in a manifest, within one JVM;
+// each input gets a lightweight task that reads it under a bounded concurrency and hands the solving
+// to a fixed pool sized to the processors
+public class BatchRunner {
+    private static final Logger logger = Logger.getLogger(BatchRunner.class.getName());
+    private static final int DEFAULT_READ_CONCURRENCY = 16;
+
+    private final Puzzle puzzle;
+    private final RunOptions options;
+    private final int readConcurrency;
+    private final int parallelism;
+
+    public BatchRunner(Puzzle puzzle, RunOptions options, int readConcurrency, int parallelism) {
+        this.puzzle = puzzle;
+        this.options = options;
+        this.readConcurrency = readConcurrency;
+        this.parallelism = parallelism;
+    }
+
+    public static void main(String[] args) {
+        Path output = null;
+        int readConcurrency = DEFAULT_READ_CONCURRENCY;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        Path cacheDirectory = null;
+        Path snapshotDirectory = null;
+        List<String> positional = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--output" -> output = Path.of(args[++i]);
+                case "--read-concurrency" -> readConcurrency = Integer.parseInt(args[++i]);
+                case "--threads" -> parallelism = Integer.parseInt(args[++i]);
+                case "--cache-dir" -> cacheDirectory = Path.of(args[++i]);
+                case "--snapshot-dir" -> snapshotDirectory = Path.of(args[++i]);
+                default -> positional.add(args[i]);
+            }
+        }
+        if (positional.size() != 2) {
+            throw new IllegalArgumentException("Expected <puzzle> <input directory or manifest> [--output results.tsv]");
+        }
+        Puzzle puzzle = Puzzles.find(positional.get(0))
+                .orElseThrow(() -> new IllegalArgumentException("No puzzle " + positional.get(0)));
+        Path inputs = Path.of(positional.get(1));
+        Path results = output == null ? Path.of("results-" + puzzle.id() + ".tsv") : output;
+
+        try {
+            BatchRunner runner = new BatchRunner(puzzle, RunOptions.of(cacheDirectory, snapshotDirectory), readConcurrency, parallelism);
+            Summary summary = runner.run(listInputs(inputs), results);
+            System.out.printf("puzzle %s: %d inputs, %d failed, %.2f MB in %.2f s, %.1f inputs/s, results in %s%n",
+                    puzzle.id(),
+                    summary.inputs(),
+                    summary.failed(),
+                    summary.bytes() / 1e6,
+                    summary.wallNanos() / 1e9,
+                    summary.inputsPerSecond(),
+                    results);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.log(Level.SEVERE, "Batch run was interrupted", ex);
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Unable to list inputs or write results", ex);
+        }
+    }
+
+    // a directory contributes all its regular files, any other file is a manifest with one path per line
+    // resolved against the manifest's directory
+    public static List<Path> listInputs(Path inputs) throws IOException {
+        if (Files.isDirectory(inputs)) {
+            try (Stream<Path> files = Files.walk(inputs)) {
+                return files.filter(Files::isRegularFile).sorted().toList();
+            }
+        }
+        Path base = inputs.toAbsolutePath().getParent();
+        try (Stream<String> lines = Files.lines(inputs, StandardCharsets.UTF_8)) {
+            return lines.map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(base::resolve)
+                    .toList();
+        }
+    }
+
+    public Summary run(List<Path> inputs, Path results) throws IOException, InterruptedException {
+        ExecutorService solvers = Executors.newFixedThreadPool(parallelism);
+        ExecutorService tasks = newTaskExecutor(readConcurrency + parallelism);
+        Semaphore reading = new Semaphore(readConcurrency);
+        // read inputs wait for a solver thread, so the number of inputs held in memory is bounded as well
+        Semaphore inFlight = new Semaphore(readConcurrency + 2 * parallelism);
+        long start = System.nanoTime();
+        try {
+            List<Future<Outcome>> outcomes = new ArrayList<>(inputs.size());
+            for (Path input: inputs) {
+                outcomes.add(tasks.submit(() -> process(input, reading, inFlight, solvers)));
+            }
+            long failed = 0;
+            long bytes = 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(results, StandardCharsets.UTF_8)) {
+                writer.write("input\tresult\tmillis");
+                writer.newLine();
+                for (Future<Outcome> future: outcomes) {
+                    Outcome outcome = outcome(future);
+                    if (outcome.failed()) {
+                        failed++;
+                    }
+                    bytes += outcome.bytes();
+                    writer.write(outcome.input() + "\t" + outcome.result() + "\t" + String.format("%.3f", outcome.nanos() / 1e6));
+                    writer.newLine();
+                }
+            }
+            return new Summary(inputs.size(), failed, bytes, System.nanoTime() - start);
+        } finally {
+            tasks.shutdownNow();
+            solvers.shutdownNow();
+        }
+    }
+
+    private Outcome process(Path input, Semaphore reading, Semaphore inFlight, ExecutorService solvers) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            long start = System.nanoTime();
+            InputSource source = InputSource.stream(input.toString(), () -> Files.newInputStream(input));
+            long bytes;
+            reading.acquire();
+            try {
+                // stream sources keep the content, so the solver works on memory only
+                bytes = source.size();
+            } catch (IOException ex) {
+                return Outcome.failure(input, ex, System.nanoTime() - start);
+            } finally {
+                reading.release();
+            }
+            Future<String> answer = solvers.submit(() -> puzzle.answer(puzzle.solver(), source, options));
+            try {
+                return new Outcome(input, answer.get(), false, bytes, System.nanoTime() - start);
+            } catch (ExecutionException ex) {
+                return Outcome.failure(input, ex.getCause(), System.nanoTime() - start);
+            }
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private Outcome outcome(Future<Outcome> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Batch task failed outside of its solver", ex.getCause());
+        }
+    }
+
+    // virtual threads are final from JDK 21 on, older runtimes get a bounded pool of platform threads instead
+    static ExecutorService newTaskExecutor(int platformThreads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            logger.log(Level.FINE, "Virtual threads are not available, using {0} platform threads", platformThreads);
+            return Executors.newFixedThreadPool(platformThreads);
+        }
+    }
+
+    public static record Outcome(Path input, String result, boolean failed, long bytes, long nanos) {
+
+        static Outcome failure(Path input, Throwable cause, long nanos) {
+            logger.log(Level.WARNING, "Input " + input + " failed", cause);
+            return new Outcome(input, "ERROR " + cause, true, 0, nanos);
+        }
+    }
+
+    public static record Summary(long inputs, long failed, long bytes, long wallNanos) {
+
+        public double inputsPerSecond() {
+            return wallNanos == 0 ? 0 : inputs * 1e9 / wallNanos;
+        }
+    }
+}
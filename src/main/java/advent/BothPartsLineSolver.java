@@ -0,0 +1,19 @@
+package advent;
+
+import java.io.IOException;
+
+// both answers are line sums, the accumulator adds the part 1 value to sums[0] and the part 2 value to sums[1]
+public interface BothPartsLineSolver extends BothPartsSolver<InputSource, Long, Long> {
+    LineAccumulator lineAccumulator();
+
+    @Override
+    default InputSource parse(InputSource input) {
+        return input;
+    }
+
+    @Override
+    default Answers<Long, Long> solve(InputSource input) throws IOException {
+        long[] sums = ChunkedLineProcessor.sums(input, 2, this::lineAccumulator);
+        return BothPartsSolver.answers(sums[0], sums[1]);
+    }
+}
@@ -0,0 +1,16 @@
+package advent;
+
+// solves both parts from a single parse, so reports that need both answers read and parse the input once
+public interface BothPartsSolver<M, A, B> extends Solver<M, BothPartsSolver.Answers<A, B>> {
+
+    @Override
+    default String format(Answers<A, B> answers) {
+        return answers.part1() + " / " + answers.part2();
+    }
+
+    static <A, B> Answers<A, B> answers(A part1, B part2) {
+        return new Answers<>(part1, part2);
+    }
+
+    record Answers<A, B>(A part1, B part2) {}
+}
@@ -0,0 +1,9 @@
+package advent;
+
+import java.nio.ByteBuffer;
+
+// sums every line between the position and the limit of a chunk, which always starts at the start of a line
+@FunctionalInterface
+public interface ChunkFunction {
+    long apply(ByteBuffer chunk);
+}
@@ -0,0 +1,364 @@
+package advent;
+
+import advent.jfr.ChunkEvent;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+public class ChunkedLineProcessor {
+    public static final int MIN_CHUNK_SIZE = 1 << 20;
+    public static final int MAX_CHUNK_SIZE = 64 << 20;
+    public static final int STREAM_CHUNK_SIZE = 4 << 20;
+    private static final int PROBE_SIZE = 8 << 10;
+    private static final String BUFFER_INPUT = "buffer";
+
+    public static long sum(InputSource source, Supplier<LineFunction> lineFunctions) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return sum(source, lineFunctions, pool, chunkSize(source, pool));
+    }
+
+    public static long sum(InputSource source,
+                           Supplier<LineFunction> lineFunctions,
+                           ForkJoinPool pool,
+                           int chunkSize) throws IOException {
+        return process(source, 1, summers(lineFunctions), pool, chunkSize)[0];
+    }
+
+    public static long sum(ByteBuffer buffer, Supplier<LineFunction> lineFunctions) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return sum(buffer, lineFunctions, pool, chunkSize(buffer.remaining(), pool));
+    }
+
+    public static long sum(ByteBuffer buffer,
+                           Supplier<LineFunction> lineFunctions,
+                           ForkJoinPool pool,
+                           int chunkSize) {
+        List<Chunk> chunks = bufferChunks(buffer, chunkSize);
+        return pool.invoke(new SumTask(BUFFER_INPUT, chunks, 0, chunks.size(), 1, summers(lineFunctions)))[0];
+    }
+
+    // for solvers that scan a whole chunk at once rather than line by line
+    public static long sumChunks(InputSource source, Supplier<ChunkFunction> chunkFunctions) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return process(source, 1, chunkSummers(chunkFunctions), pool, chunkSize(source, pool))[0];
+    }
+
+    public static long sumChunks(ByteBuffer buffer, Supplier<ChunkFunction> chunkFunctions) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<Chunk> chunks = bufferChunks(buffer, chunkSize(buffer.remaining(), pool));
+        return pool.invoke(new SumTask(BUFFER_INPUT, chunks, 0, chunks.size(), 1, chunkSummers(chunkFunctions)))[0];
+    }
+
+    // several sums over the same lines, such as the answers of both parts, share a single read of the input
+    public static long[] sums(InputSource source, int width, Supplier<LineAccumulator> accumulators) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return process(source, width, accumulatingSummers(accumulators), pool, chunkSize(source, pool));
+    }
+
+    public static long[] sums(ByteBuffer buffer, int width, Supplier<LineAccumulator> accumulators) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<Chunk> chunks = bufferChunks(buffer, chunkSize(buffer.remaining(), pool));
+        return pool.invoke(new SumTask(BUFFER_INPUT, chunks, 0, chunks.size(), width, accumulatingSummers(accumulators)));
+    }
+
+    private static long[] process(InputSource source,
+                                  int width,
+                                  Supplier<ChunkSummer> summers,
+                                  ForkJoinPool pool,
+                                  int chunkSize) throws IOException {
+        if (source instanceof MappedFileInputSource fileSource) {
+            try (FileChannel channel = FileChannel.open(fileSource.getPath(), StandardOpenOption.READ)) {
+                List<Chunk> chunks = fileChunks(channel, chunkSize);
+                return pool.invoke(new SumTask(source.name(), chunks, 0, chunks.size(), width, summers));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        }
+        if (source instanceof GzipInputSource) {
+            return processStream(source, width, summers, pool, chunkSize);
+        }
+        List<Chunk> chunks = bufferChunks(source.bytes(), chunkSize);
+        return pool.invoke(new SumTask(source.name(), chunks, 0, chunks.size(), width, summers));
+    }
+
+    // chunks are summed as soon as they are read, so the pool works while the source is still inflating;
+    // waiting for the oldest chunk keeps the number of chunks held in memory bounded
+    private static long[] processStream(InputSource source,
+                                        int width,
+                                        Supplier<ChunkSummer> summers,
+                                        ForkJoinPool pool,
+                                        int chunkSize) throws IOException {
+        int maxPending = 2 * pool.getParallelism() + 1;
+        Deque<ForkJoinTask<long[]>> pending = new ArrayDeque<>();
+        long[] sums = new long[width];
+        try (InputStream stream = source.stream()) {
+            byte[] carry = new byte[0];
+            long offset = 0;
+            boolean finished = false;
+            while (!finished) {
+                byte[] chunk = Arrays.copyOf(carry, carry.length + chunkSize);
+                int read = stream.readNBytes(chunk, carry.length, chunkSize);
+                int length = carry.length + read;
+                finished = read < chunkSize;
+                int end = finished ? length : lastLineEnd(chunk, length);
+                carry = Arrays.copyOfRange(chunk, end, length);
+                if (end == 0) {
+                    continue;
+                }
+                List<Chunk> chunks = List.of(new Chunk(offset, () -> ByteBuffer.wrap(chunk, 0, end).slice()));
+                pending.add(pool.submit(new SumTask(source.name(), chunks, 0, 1, width, summers)));
+                offset += end;
+                if (pending.size() >= maxPending) {
+                    add(sums, pending.removeFirst().join());
+                }
+            }
+        }
+        while (!pending.isEmpty()) {
+            add(sums, pending.removeFirst().join());
+        }
+        return sums;
+    }
+
+    private static int lastLineEnd(byte[] chunk, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (chunk[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static void add(long[] sums, long[] added) {
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] = Math.addExact(sums[i], added[i]);
+        }
+    }
+
+    private static Supplier<ChunkSummer> summers(Supplier<LineFunction> lineFunctions) {
+        return () -> {
+            LineFunction lineFunction = lineFunctions.get();
+            return (buffer, sums) -> sums[0] = sumLines(buffer, buffer.position(), buffer.limit(), lineFunction);
+        };
+    }
+
+    private static Supplier<ChunkSummer> chunkSummers(Supplier<ChunkFunction> chunkFunctions) {
+        return () -> {
+            ChunkFunction chunkFunction = chunkFunctions.get();
+            return (buffer, sums) -> sums[0] = chunkFunction.apply(buffer);
+        };
+    }
+
+    private static Supplier<ChunkSummer> accumulatingSummers(Supplier<LineAccumulator> accumulators) {
+        return () -> {
+            LineAccumulator accumulator = accumulators.get();
+            return (buffer, sums) -> accumulateLines(buffer, buffer.position(), buffer.limit(), accumulator, sums);
+        };
+    }
+
+    // line-aligned views of the buffer, for parsers that split their input and combine the parts in order
+    public static List<ByteBuffer> slices(ByteBuffer buffer, int chunkSize) {
+        return bufferChunks(buffer, chunkSize).stream()
+                .map(Chunk::load)
+                .toList();
+    }
+
+    // the size of a compressed source is known only after inflating it, so those are read in fixed chunks
+    private static int chunkSize(InputSource source, ForkJoinPool pool) throws IOException {
+        return source instanceof GzipInputSource ? STREAM_CHUNK_SIZE : chunkSize(source.size(), pool);
+    }
+
+    // a few chunks per worker keep the pool busy when lines are not evenly spread over the input
+    public static int chunkSize(long size, ForkJoinPool pool) {
+        long perChunk = size / (4L * pool.getParallelism()) + 1;
+        return (int) Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, perChunk));
+    }
+
+    public static long sumLines(ByteBuffer buffer, int start, int end, LineFunction lineFunction) {
+        long sum = 0;
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart) {
+                sum = Math.addExact(sum, lineFunction.apply(buffer, lineStart, lineEnd));
+            }
+            lineStart = next;
+        }
+        return sum;
+    }
+
+    public static void accumulateLines(ByteBuffer buffer, int start, int end, LineAccumulator accumulator, long[] sums) {
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart) {
+                accumulator.accumulate(buffer, lineStart, lineEnd, sums);
+            }
+            lineStart = next;
+        }
+    }
+
+    private static List<Chunk> fileChunks(FileChannel channel, int chunkSize) throws IOException {
+        long size = channel.size();
+        List<Chunk> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+        long start = 0;
+        while (start < size) {
+            long end = start + chunkSize >= size ? size : nextLineStart(channel, start + chunkSize, size, probe);
+            long chunkStart = start;
+            int length = Math.toIntExact(end - start);
+            // every chunk is mapped on its own, so files larger than a single 2 GB mapping work as well
+            chunks.add(new Chunk(chunkStart, () -> channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, length)));
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        long position = from - 1;
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static List<Chunk> bufferChunks(ByteBuffer buffer, int chunkSize) {
+        List<Chunk> chunks = new ArrayList<>();
+        int limit = buffer.limit();
+        int start = buffer.position();
+        while (start < limit) {
+            int end = start;
+            if (limit - start <= chunkSize) {
+                end = limit;
+            } else {
+                end = start + chunkSize - 1;
+                while (end < limit && buffer.get(end) != '\n') {
+                    end++;
+                }
+                end = Math.min(end + 1, limit);
+            }
+            ByteBuffer slice = buffer.slice(start, end - start);
+            chunks.add(new Chunk(start, () -> slice));
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static record Chunk(long offset, Loader loader) {
+        ByteBuffer load() {
+            try {
+                return loader.load();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to map input chunk", ex);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Loader {
+        ByteBuffer load() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ChunkSummer {
+        void sum(ByteBuffer chunk, long[] sums);
+    }
+
+    @SuppressWarnings("serial")
+    private static class SumTask extends RecursiveTask<long[]> {
+        private final String input;
+        private final List<Chunk> chunks;
+        private final int from;
+        private final int to;
+        private final int width;
+        private final Supplier<ChunkSummer> summers;
+
+        SumTask(String input, List<Chunk> chunks, int from, int to, int width, Supplier<ChunkSummer> summers) {
+            this.input = input;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.width = width;
+            this.summers = summers;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from == 0) {
+                return new long[width];
+            }
+            if (to - from == 1) {
+                return sumChunk(chunks.get(from));
+            }
+            int middle = (from + to) >>> 1;
+            SumTask left = new SumTask(input, chunks, from, middle, width, summers);
+            SumTask right = new SumTask(input, chunks, middle, to, width, summers);
+            left.fork();
+            long[] sums = right.compute();
+            add(sums, left.join());
+            return sums;
+        }
+
+        private long[] sumChunk(Chunk chunk) {
+            ChunkEvent event = new ChunkEvent();
+            event.begin();
+            ByteBuffer buffer = chunk.load();
+            long[] sums = new long[width];
+            summers.get().sum(buffer, sums);
+            event.end();
+            if (event.shouldCommit()) {
+                event.input = input;
+                event.offset = chunk.offset();
+                event.bytes = buffer.remaining();
+                event.lines = countLines(buffer);
+                event.commit();
+            }
+            return sums;
+        }
+
+        private static long countLines(ByteBuffer buffer) {
+            long lines = 0;
+            for (int i = buffer.position(); i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') {
+                    lines++;
+                }
+            }
+            return buffer.hasRemaining() && buffer.get(buffer.limit() - 1) != '\n' ? lines + 1 : lines;
+        }
+    }
+}
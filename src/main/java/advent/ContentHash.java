@@ -0,0 +1,37 @@
+package advent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+public class ContentHash {
+    private static final int BLOCK_SIZE = 64 << 10;
+
+    // the header lines identify what the hash is used for, so equal inputs hash differently per use
+    public static String sha256(List<String> header, InputSource input) throws IOException {
+        MessageDigest digest = sha256();
+        for (String line: header) {
+            digest.update((line + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] block = new byte[BLOCK_SIZE];
+        try (InputStream stream = input.stream()) {
+            int read;
+            while ((read = stream.read(block)) > 0) {
+                digest.update(block, 0, read);
+            }
+        }
+        return String.format("%064x", new BigInteger(1, digest.digest()));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package advent;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// a character grid in one flat array surrounded by a border of padding cells, so every cell of the grid has
+// all eight neighbours and walking off an edge reads padding instead of needing a bounds check. Cells are
+// addressed by index, a neighbour is the index plus one of the offsets derived from the row stride.
+// Rows shorter than the longest one are filled up with padding as well.
+public class Grid {
+    public static final int NORTH = 0;
+    public static final int SOUTH = 1;
+    public static final int WEST = 2;
+    public static final int EAST = 3;
+
+    private final byte[] cells;
+    private final int width;
+    private final int height;
+    private final int stride;
+    private final byte padding;
+    private final int[] orthogonalOffsets;
+    private final int[] neighbourOffsets;
+
+    private Grid(byte[] cells, int width, int height, byte padding) {
+        this.cells = cells;
+        this.width = width;
+        this.height = height;
+        this.stride = width + 2;
+        this.padding = padding;
+        this.orthogonalOffsets = new int[] {-stride, stride, -1, 1};
+        this.neighbourOffsets = new int[] {-stride - 1, -stride, -stride + 1, -1, 1, stride - 1, stride, stride + 1};
+    }
+
+    // empty lines are skipped, as the puzzles never have them inside a grid
+    public static Grid parse(ByteBuffer input, byte padding) {
+        int width = 0;
+        int height = 0;
+        LineCursor lines = new LineCursor(input);
+        while (lines.next()) {
+            if (lines.length() > 0) {
+                width = Math.max(width, lines.length());
+                height++;
+            }
+        }
+        int stride = width + 2;
+        byte[] cells = new byte[Math.multiplyExact(stride, height + 2)];
+        Arrays.fill(cells, padding);
+        int row = 0;
+        lines = new LineCursor(input);
+        while (lines.next()) {
+            if (lines.length() > 0) {
+                input.get(lines.start(), cells, (row + 1) * stride + 1, lines.length());
+                row++;
+            }
+        }
+        return new Grid(cells, width, height, padding);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int stride() {
+        return stride;
+    }
+
+    public byte padding() {
+        return padding;
+    }
+
+    public int index(int row, int column) {
+        return (row + 1) * stride + column + 1;
+    }
+
+    public int row(int index) {
+        return index / stride - 1;
+    }
+
+    public int column(int index) {
+        return index % stride - 1;
+    }
+
+    // any index of the grid or its border can be read, the border always holds padding
+    public byte get(int index) {
+        return cells[index];
+    }
+
+    public byte get(int row, int column) {
+        return cells[index(row, column)];
+    }
+
+    public void set(int index, byte value) {
+        cells[index] = value;
+    }
+
+    // offsets towards NORTH, SOUTH, WEST and EAST in that order
+    public int orthogonalOffset(int direction) {
+        return orthogonalOffsets[direction];
+    }
+
+    // offsets of all eight neighbours, row by row from the upper left one
+    public int neighbourOffset(int neighbour) {
+        return neighbourOffsets[neighbour];
+    }
+
+    public int neighbours() {
+        return neighbourOffsets.length;
+    }
+
+    public int find(byte value) {
+        for (int row = 0; row < height; row++) {
+            int start = index(row, 0);
+            for (int index = start; index < start + width; index++) {
+                if (cells[index] == value) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public Grid copy() {
+        return new Grid(cells.clone(), width, height, padding);
+    }
+}
@@ -0,0 +1,151 @@
+package advent;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+// inflates on a thread of its own and hands blocks over through a small queue, so the reader of stream()
+// parses or copies one block while the next one is being inflated; nothing is written to disk
+public class GzipInputSource implements InputSource {
+    public static final String SUFFIX = ".gz";
+
+    private static final int INFLATER_BUFFER_SIZE = 256 << 10;
+    private static final int BLOCK_SIZE = 1 << 20;
+    private static final int QUEUED_BLOCKS = 8;
+
+    private final String name;
+    private final StreamInputSource.StreamOpener opener;
+    private byte[] content;
+
+    public GzipInputSource(String name, StreamInputSource.StreamOpener opener) {
+        this.name = name;
+        this.opener = opener;
+    }
+
+    public static boolean isCompressed(String name) {
+        return name.endsWith(SUFFIX);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return content().length;
+    }
+
+    @Override
+    public ByteBuffer bytes() throws IOException {
+        return ByteBuffer.wrap(content()).asReadOnlyBuffer();
+    }
+
+    @Override
+    public synchronized InputStream stream() throws IOException {
+        if (content != null) {
+            return new ByteArrayInputStream(content);
+        }
+        return new InflatingStream(name, opener.open());
+    }
+
+    // the inflated content is kept after the first full read, later readers do not inflate again
+    private synchronized byte[] content() throws IOException {
+        if (content == null) {
+            try (InputStream inputStream = stream()) {
+                content = inputStream.readAllBytes();
+            }
+        }
+        return content;
+    }
+
+    private static class InflatingStream extends InputStream {
+        private static final byte[] END = new byte[0];
+
+        private final BlockingQueue<byte[]> blocks = new ArrayBlockingQueue<>(QUEUED_BLOCKS);
+        private final Thread inflater;
+        private volatile IOException failure;
+        private byte[] block = new byte[0];
+        private int position;
+        private boolean finished;
+
+        InflatingStream(String name, InputStream compressed) {
+            inflater = new Thread(() -> inflate(compressed), "gzip-inflater-" + name);
+            inflater.setDaemon(true);
+            inflater.start();
+        }
+
+        private void inflate(InputStream compressed) {
+            try (InputStream inflating = new GZIPInputStream(compressed, INFLATER_BUFFER_SIZE)) {
+                while (true) {
+                    byte[] inflated = inflating.readNBytes(BLOCK_SIZE);
+                    if (inflated.length == 0) {
+                        break;
+                    }
+                    blocks.put(inflated);
+                }
+            } catch (IOException ex) {
+                failure = ex;
+            } catch (InterruptedException ex) {
+                // the reader closed the stream before its end
+                return;
+            }
+            try {
+                blocks.put(END);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return block[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int read = Math.min(length, block.length - position);
+            System.arraycopy(block, position, buffer, offset, read);
+            position += read;
+            return read;
+        }
+
+        private boolean fill() throws IOException {
+            while (!finished && position == block.length) {
+                try {
+                    block = blocks.take();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for inflated data", ex);
+                }
+                position = 0;
+                if (block == END) {
+                    finished = true;
+                    if (failure != null) {
+                        throw failure;
+                    }
+                }
+            }
+            return position < block.length;
+        }
+
+        @Override
+        public void close() {
+            inflater.interrupt();
+            blocks.clear();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package advent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+public interface InputSource {
+    String STDIN_ARGUMENT = "-";
+
+    String name();
+
+    long size() throws IOException;
+
+    ByteBuffer bytes() throws IOException;
+
+    InputStream stream() throws IOException;
+
+    default LineCursor lines() throws IOException {
+        return new LineCursor(bytes());
+    }
+
+    default BufferedReader reader() throws IOException {
+        return new BufferedReader(new InputStreamReader(stream(), StandardCharsets.US_ASCII));
+    }
+
+    static InputSource fromArgs(String[] args, Class<?> clz, String resourcePath) {
+        if (args.length == 0) {
+            return resource(clz, resourcePath);
+        }
+        if (STDIN_ARGUMENT.equals(args[0])) {
+            return stdin();
+        }
+        return file(Path.of(args[0]));
+    }
+
+    // gzip files are inflated while they are read, plain files are memory mapped
+    static InputSource file(Path path) {
+        if (GzipInputSource.isCompressed(path.toString())) {
+            return new GzipInputSource(path.toString(), () -> Files.newInputStream(path));
+        }
+        return new MappedFileInputSource(path);
+    }
+
+    static InputSource stdin() {
+        return new StreamInputSource("stdin", () -> System.in);
+    }
+
+    static InputSource resource(Class<?> clz, String resourcePath) {
+        Objects.requireNonNull(clz);
+        Objects.requireNonNull(resourcePath);
+        return stream(resourcePath, () -> {
+            InputStream inputStream = clz.getClassLoader().getResourceAsStream(resourcePath);
+            Objects.requireNonNull(inputStream);
+            return inputStream;
+        });
+    }
+
+    static InputSource stream(String name, StreamInputSource.StreamOpener opener) {
+        if (GzipInputSource.isCompressed(name)) {
+            return new GzipInputSource(name, opener);
+        }
+        return new StreamInputSource(name, opener);
+    }
+}
@@ -0,0 +1,8 @@
+package advent;
+
+import java.nio.ByteBuffer;
+
+@FunctionalInterface
+public interface LineAccumulator {
+    void accumulate(ByteBuffer buffer, int start, int end, long[] sums);
+}
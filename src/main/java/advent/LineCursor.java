@@ -0,0 +1,57 @@
+package advent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class LineCursor {
+    private final ByteBuffer buffer;
+    private int next;
+    private int start;
+    private int end;
+
+    public LineCursor(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.next = buffer.position();
+    }
+
+    public boolean next() {
+        int limit = buffer.limit();
+        if (next >= limit) {
+            return false;
+        }
+        start = next;
+        int i = next;
+        while (i < limit && buffer.get(i) != '\n') {
+            i++;
+        }
+        next = i + 1;
+        end = i > start && buffer.get(i - 1) == '\r' ? i - 1 : i;
+        return true;
+    }
+
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    public int start() {
+        return start;
+    }
+
+    public int end() {
+        return end;
+    }
+
+    public int length() {
+        return end - start;
+    }
+
+    public byte byteAt(int index) {
+        return buffer.get(start + index);
+    }
+
+    public String line() {
+        byte[] line = new byte[length()];
+        buffer.get(start, line);
+        return new String(line, StandardCharsets.US_ASCII);
+    }
+}
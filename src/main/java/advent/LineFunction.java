@@ -0,0 +1,8 @@
+package advent;
+
+import java.nio.ByteBuffer;
+
+@FunctionalInterface
+public interface LineFunction {
+    long apply(ByteBuffer buffer, int start, int end);
+}
@@ -0,0 +1,18 @@
+package advent;
+
+import java.io.IOException;
+
+// line sums read the input while they solve, so the parse phase only hands the source over
+public interface LineSumSolver extends Solver<InputSource, Long> {
+    LineFunction lineFunction();
+
+    @Override
+    default InputSource parse(InputSource input) {
+        return input;
+    }
+
+    @Override
+    default Long solve(InputSource input) throws IOException {
+        return ChunkedLineProcessor.sum(input, this::lineFunction);
+    }
+}
@@ -0,0 +1,106 @@
+package advent;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// keeps the files with one suffix in a directory under a byte bound, dropping the least recently used first;
+// the modification time doubles as the last access time and eviction is serialized by a lock file
+public class LruDirectory {
+    private static final String LOCK_FILE = "eviction.lock";
+    private static final Duration STALE_TEMPORARY_AGE = Duration.ofHours(1);
+    // file locks are held per JVM, so threads of one JVM take turns before they ask for the lock file
+    private static final Object evictionMonitor = new Object();
+
+    private final Path directory;
+    private final String suffix;
+    private final String temporarySuffix;
+    private final long maxBytes;
+    // bytes in the directory at the last scan plus the files written here since, -1 before the first scan;
+    // files other JVMs write are only seen by the next scan, so the directory can outgrow its bound by those
+    private final AtomicLong trackedBytes = new AtomicLong(-1);
+
+    public LruDirectory(Path directory, String suffix, String temporarySuffix, long maxBytes) {
+        this.directory = directory;
+        this.suffix = suffix;
+        this.temporarySuffix = temporarySuffix;
+        this.maxBytes = maxBytes;
+    }
+
+    public void touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (NoSuchFileException ex) {
+            // evicted right after it was read, what was read is still valid
+        }
+    }
+
+    public void written(long bytes) throws IOException {
+        // the directory is only listed once the tracked size crosses the bound, not on every write
+        long tracked = trackedBytes.get() < 0 ? -1 : trackedBytes.addAndGet(bytes);
+        if (tracked < 0 || tracked > maxBytes) {
+            evict();
+        }
+    }
+
+    public void evict() throws IOException {
+        synchronized (evictionMonitor) {
+            try (FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = lockChannel.lock();
+                try {
+                    evictLocked();
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    private void evictLocked() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long totalBytes = 0;
+        Instant staleBefore = Instant.now().minus(STALE_TEMPORARY_AGE);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file: files) {
+                String name = file.getFileName().toString();
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (name.endsWith(suffix)) {
+                        entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime()));
+                        totalBytes += attributes.size();
+                    } else if (name.endsWith(temporarySuffix) && attributes.lastModifiedTime().toInstant().isBefore(staleBefore)) {
+                        // left behind by a JVM that died between writing and renaming a file
+                        Files.deleteIfExists(file);
+                    }
+                } catch (NoSuchFileException ex) {
+                    // removed by a concurrent writer in the meantime
+                }
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::lastAccess));
+        for (Entry entry: entries) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            Files.deleteIfExists(entry.file());
+            totalBytes -= entry.size();
+        }
+        trackedBytes.set(totalBytes);
+    }
+
+    private static record Entry(Path file, long size, FileTime lastAccess) {}
+}
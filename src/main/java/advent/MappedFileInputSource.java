@@ -0,0 +1,52 @@
+package advent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedFileInputSource implements InputSource {
+    private final Path path;
+    private ByteBuffer mapped;
+
+    public MappedFileInputSource(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public String name() {
+        return path.toString();
+    }
+
+    @Override
+    public long size() throws IOException {
+        return Files.size(path);
+    }
+
+    @Override
+    public synchronized ByteBuffer bytes() throws IOException {
+        if (mapped == null) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("File " + path + " is too large to be mapped at once");
+                }
+                // the mapping stays valid after the channel is closed
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+        return mapped.duplicate();
+    }
+
+    @Override
+    public InputStream stream() throws IOException {
+        return Files.newInputStream(path);
+    }
+}
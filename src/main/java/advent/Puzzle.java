@@ -0,0 +1,152 @@
+package advent;
+
+import advent.jfr.ParseEvent;
+import advent.jfr.SolveEvent;
+import advent.snapshot.SnapshotCodec;
+import advent.snapshot.SnapshotStore;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// a variant names another way of solving the same part, such as streaming, and replaces the part in the id
+public record Puzzle(int day,
+                     int part,
+                     Class<?> owner,
+                     String resourcePath,
+                     Supplier<? extends Solver<?, ?>> solvers,
+                     String variant) {
+    // the part of a puzzle whose solver answers both parts of its day from one parse
+    public static final int BOTH_PARTS = 0;
+
+    private static final int LINE_COUNT_BLOCK_SIZE = 64 << 10;
+
+    public Puzzle(int day, int part, Class<?> owner, String resourcePath, Supplier<? extends Solver<?, ?>> solvers) {
+        this(day, part, owner, resourcePath, solvers, "");
+    }
+
+    public String id() {
+        if (!variant.isEmpty()) {
+            return day + "." + variant;
+        }
+        return day + "." + (part == BOTH_PARTS ? "both" : String.valueOf(part));
+    }
+
+    public boolean matches(String selector) {
+        return selector.equals(id()) || selector.equals(String.valueOf(day));
+    }
+
+    public InputSource input(String[] args) {
+        return InputSource.fromArgs(args, owner, resourcePath);
+    }
+
+    // archived input directories may hold the compressed file only
+    public InputSource input(Path inputDirectory) {
+        Path input = inputDirectory.resolve(resourcePath);
+        Path compressed = inputDirectory.resolve(resourcePath + GzipInputSource.SUFFIX);
+        return InputSource.file(Files.notExists(input) && Files.exists(compressed) ? compressed : input);
+    }
+
+    public Solver<?, ?> solver() {
+        return solvers.get();
+    }
+
+    public void run(String[] args) {
+        Logger logger = Logger.getLogger(owner.getName());
+        try {
+            String result = answer(solver(), input(args), RunOptions.fromSystemProperties());
+            logger.log(Level.INFO, "Result = {0}", result);
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Unable to read input file", ex);
+        }
+    }
+
+    public String answer(Solver<?, ?> solver, InputSource input, RunOptions options) throws IOException {
+        if (options.cache().isEmpty()) {
+            return uncachedAnswer(solver, input, options);
+        }
+        ResultCache cache = options.cache().get();
+        String key = ResultCache.key(solver, input);
+        Optional<String> cached = cache.get(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        String result = uncachedAnswer(solver, input, options);
+        cache.put(key, result);
+        return result;
+    }
+
+    private <M, R> String uncachedAnswer(Solver<M, R> solver, InputSource input, RunOptions options) throws IOException {
+        return solver.format(solve(solver, parse(solver, input, options.snapshots())));
+    }
+
+    public <M> M parse(Solver<M, ?> solver, InputSource input, Optional<SnapshotStore> snapshots) throws IOException {
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        Optional<SnapshotCodec<M>> codec = solver.snapshotCodec();
+        boolean fromSnapshot = false;
+        M model;
+        if (snapshots.isPresent() && codec.isPresent()) {
+            SnapshotStore store = snapshots.get();
+            String key = store.key(codec.get(), input);
+            Optional<M> snapshot = store.load(codec.get(), key);
+            fromSnapshot = snapshot.isPresent();
+            if (fromSnapshot) {
+                model = snapshot.get();
+            } else {
+                model = solver.parse(input);
+                store.save(codec.get(), key, model);
+            }
+        } else {
+            model = solver.parse(input);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.puzzle = id();
+            event.solver = solver.getClass();
+            event.input = input.name();
+            event.bytes = input.size();
+            event.snapshot = fromSnapshot;
+            // counting lines reads the input once more, so it only happens while the event is recorded
+            event.lines = countLines(input);
+            event.commit();
+        }
+        return model;
+    }
+
+    public <M, R> R solve(Solver<M, R> solver, M model) throws IOException {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        R result = solver.solve(model);
+        event.end();
+        if (event.shouldCommit()) {
+            event.puzzle = id();
+            event.solver = solver.getClass();
+            event.result = solver.format(result);
+            event.commit();
+        }
+        return result;
+    }
+
+    private static long countLines(InputSource input) throws IOException {
+        long lines = 0;
+        int last = '\n';
+        byte[] block = new byte[LINE_COUNT_BLOCK_SIZE];
+        try (InputStream stream = input.stream()) {
+            int read;
+            while ((read = stream.read(block)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    if (block[i] == '\n') {
+                        lines++;
+                    }
+                }
+                last = block[read - 1];
+            }
+        }
+        return last == '\n' ? lines : lines + 1;
+    }
+}
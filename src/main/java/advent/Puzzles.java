@@ -0,0 +1,104 @@
+package advent;
+
+import advent.day1.Trebuchet;
+import advent.day10.PipeMaze;
+import advent.day11.CosmicExpansion;
+import advent.day2.CubeConundrum;
+import advent.day3.GearRatios;
+import advent.day4.Scratchcards;
+import advent.day5.FoodProductionProblem;
+import advent.day6.WaitForIt;
+import advent.day7.CamelCards;
+import advent.day8.HauntedWasteland;
+import advent.day9.MirageMaintenance;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class Puzzles {
+    public static final List<Puzzle> ALL = List.of(
+            Trebuchet.PART_1,
+            Trebuchet.PART_2,
+            CubeConundrum.PART_1,
+            CubeConundrum.PART_2,
+            GearRatios.PART_1,
+            GearRatios.PART_2,
+            Scratchcards.PART_1,
+            Scratchcards.PART_2,
+            FoodProductionProblem.PART_1,
+            FoodProductionProblem.PART_2,
+            WaitForIt.PART_1,
+            WaitForIt.PART_2,
+            CamelCards.PART_1,
+            CamelCards.PART_2,
+            HauntedWasteland.PART_1,
+            HauntedWasteland.PART_2,
+            MirageMaintenance.PART_1,
+            MirageMaintenance.PART_2,
+            PipeMaze.PART_1,
+            CosmicExpansion.PART_1,
+            CosmicExpansion.PART_2
+    );
+
+    // days whose parts share an input; day 1 and day 8 ship different examples per part and day 10 has one part
+    public static final List<Puzzle> BOTH_PARTS = List.of(
+            CubeConundrum.BOTH,
+            GearRatios.BOTH,
+            Scratchcards.BOTH,
+            FoodProductionProblem.BOTH,
+            WaitForIt.BOTH,
+            CamelCards.BOTH,
+            MirageMaintenance.BOTH,
+            CosmicExpansion.BOTH
+    );
+
+    // other ways of solving a day, selected by their own id only
+    public static final List<Puzzle> VARIANTS = List.of(
+            CubeConundrum.TABLE,
+            GearRatios.STREAMING,
+            GearRatios.PARALLEL
+    );
+
+    public static Optional<Puzzle> find(String id) {
+        return Stream.of(ALL, BOTH_PARTS, VARIANTS)
+                .flatMap(List::stream)
+                .filter(puzzle -> puzzle.id().equals(id))
+                .findFirst();
+    }
+
+    // replaces the parts of a day by its both-parts puzzle where one exists, keeping the order of first appearance
+    public static List<Puzzle> fuse(List<Puzzle> puzzles) {
+        Set<Integer> fusedDays = new HashSet<>();
+        List<Puzzle> fused = new ArrayList<>();
+        for (Puzzle puzzle: puzzles) {
+            Optional<Puzzle> bothParts = BOTH_PARTS.stream()
+                    .filter(candidate -> candidate.day() == puzzle.day())
+                    .findFirst();
+            if (bothParts.isEmpty() || puzzle.part() == Puzzle.BOTH_PARTS) {
+                fused.add(puzzle);
+            } else if (fusedDays.add(puzzle.day())) {
+                fused.add(bothParts.get());
+            }
+        }
+        return fused;
+    }
+
+    // a selector is either a day number such as "5", a single part such as "5.2" or a variant such as "3.stream",
+    // no selectors mean every puzzle
+    public static List<Puzzle> select(List<String> selectors) {
+        if (selectors.isEmpty()) {
+            return ALL;
+        }
+        List<Puzzle> selected = Stream.concat(
+                        ALL.stream().filter(puzzle -> selectors.stream().anyMatch(puzzle::matches)),
+                        VARIANTS.stream().filter(puzzle -> selectors.contains(puzzle.id())))
+                .toList();
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No puzzles match " + selectors);
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,84 @@
+package advent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+// answers are stored as one file per key, written to a temporary file and renamed into place,
+// so readers in any JVM see either a complete entry or none
+public class ResultCache {
+    public static final String DIRECTORY_PROPERTY = "advent.cache.dir";
+    public static final String MAX_BYTES_PROPERTY = "advent.cache.max-bytes";
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String ENTRY_SUFFIX = ".result";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final LruDirectory entries;
+
+    public ResultCache(Path directory, long maxBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.entries = new LruDirectory(this.directory, ENTRY_SUFFIX, TEMPORARY_SUFFIX, maxBytes);
+    }
+
+    public static Optional<ResultCache> fromSystemProperties() throws IOException {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null) {
+            return Optional.empty();
+        }
+        long maxBytes = Long.getLong(MAX_BYTES_PROPERTY, DEFAULT_MAX_BYTES);
+        return Optional.of(new ResultCache(Path.of(directory), maxBytes));
+    }
+
+    public static String key(Solver<?, ?> solver, InputSource input) throws IOException {
+        List<String> header = new ArrayList<>();
+        header.add("result v" + FORMAT_VERSION);
+        header.add(solver.getClass().getName());
+        for (Map.Entry<String, Object> parameter: new TreeMap<>(solver.parameters()).entrySet()) {
+            header.add(parameter.getKey() + '=' + parameter.getValue());
+        }
+        return ContentHash.sha256(header, input);
+    }
+
+    public Optional<String> get(String key) throws IOException {
+        Path entry = entry(key);
+        String result;
+        try {
+            result = Files.readString(entry, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        }
+        entries.touch(entry);
+        return Optional.of(result);
+    }
+
+    public void put(String key, String result) throws IOException {
+        byte[] bytes = result.getBytes(StandardCharsets.UTF_8);
+        Path temporary = Files.createTempFile(directory, key, TEMPORARY_SUFFIX);
+        try {
+            Files.write(temporary, bytes);
+            Files.move(temporary, entry(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        entries.written(bytes.length);
+    }
+
+    public void evict() throws IOException {
+        entries.evict();
+    }
+
+    private Path entry(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+}
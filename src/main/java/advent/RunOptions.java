@@ -0,0 +1,29 @@
+package advent;
+
+import advent.snapshot.SnapshotStore;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public record RunOptions(Optional<ResultCache> cache, Optional<SnapshotStore> snapshots) {
+
+    public static RunOptions none() {
+        return new RunOptions(Optional.empty(), Optional.empty());
+    }
+
+    public static RunOptions fromSystemProperties() throws IOException {
+        return new RunOptions(ResultCache.fromSystemProperties(), SnapshotStore.fromSystemProperties());
+    }
+
+    // directories given on the command line win over the system properties, null keeps the property value
+    public static RunOptions of(Path cacheDirectory, Path snapshotDirectory) throws IOException {
+        RunOptions defaults = fromSystemProperties();
+        return new RunOptions(
+                cacheDirectory == null
+                        ? defaults.cache()
+                        : Optional.of(new ResultCache(cacheDirectory, Long.getLong(ResultCache.MAX_BYTES_PROPERTY, ResultCache.DEFAULT_MAX_BYTES))),
+                snapshotDirectory == null
+                        ? defaults.snapshots()
+                        : Optional.of(new SnapshotStore(snapshotDirectory, Long.getLong(SnapshotStore.MAX_BYTES_PROPERTY, SnapshotStore.DEFAULT_MAX_BYTES))));
+    }
+}
@@ -0,0 +1,26 @@
+package advent;
+
+import advent.snapshot.SnapshotCodec;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+public interface Solver<M, R> {
+    M parse(InputSource input) throws IOException;
+
+    R solve(M model) throws IOException;
+
+    default String format(R result) {
+        return String.valueOf(result);
+    }
+
+    // settings baked into a solver that change its answer, such as limits or factors, are part of the result cache key
+    default Map<String, Object> parameters() {
+        return Map.of();
+    }
+
+    // solvers with a codec can skip text parsing on later runs over the same input, see SnapshotStore
+    default Optional<SnapshotCodec<M>> snapshotCodec() {
+        return Optional.empty();
+    }
+}
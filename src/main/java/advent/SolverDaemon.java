@@ -0,0 +1,212 @@
+package advent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// keeps every solver loaded and JIT compiled between requests, the protocol is one request per line:
+//   SOLVE <day> <part> <input path>  ->  OK <result> <micros>  or  ERROR <message>, part may be "both"
+//   STATS                            ->  one line per puzzle followed by END
+//   QUIT                             ->  closes the connection
+public class SolverDaemon {
+    private static final Logger logger = Logger.getLogger(SolverDaemon.class.getName());
+    private static final int DEFAULT_PORT = 7023;
+    private static final int DEFAULT_WARMUP_RUNS = 5;
+
+    private final RunOptions options;
+    private final ExecutorService solvers;
+    private final ExecutorService connections = Executors.newCachedThreadPool();
+    // variants share the day and part of their both-parts puzzle, so the id keeps their latencies apart
+    private final Map<Puzzle, LatencyHistogram> latencies = new ConcurrentSkipListMap<>(
+            Comparator.comparingInt(Puzzle::day).thenComparingInt(Puzzle::part).thenComparing(Puzzle::id));
+
+    public SolverDaemon(RunOptions options, int parallelism) {
+        this.options = options;
+        this.solvers = Executors.newFixedThreadPool(parallelism);
+    }
+
+    public static void main(String[] args) {
+        Path socketPath = null;
+        int port = DEFAULT_PORT;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int warmupRuns = DEFAULT_WARMUP_RUNS;
+        Path cacheDirectory = null;
+        Path snapshotDirectory = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--socket" -> socketPath = Path.of(args[++i]);
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--threads" -> parallelism = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmupRuns = Integer.parseInt(args[++i]);
+                case "--cache-dir" -> cacheDirectory = Path.of(args[++i]);
+                case "--snapshot-dir" -> snapshotDirectory = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        try {
+            SolverDaemon daemon = new SolverDaemon(RunOptions.of(cacheDirectory, snapshotDirectory), parallelism);
+            daemon.warmUp(warmupRuns);
+            SocketAddress address = socketPath == null
+                    ? new InetSocketAddress(InetAddress.getLoopbackAddress(), port)
+                    : UnixDomainSocketAddress.of(socketPath);
+            daemon.serve(address);
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Solver daemon stopped", ex);
+        }
+    }
+
+    // the bundled inputs are solved a few times so the first real request does not run interpreted
+    public void warmUp(int runs) {
+        long start = System.nanoTime();
+        for (int run = 0; run < runs; run++) {
+            for (Puzzle puzzle: Puzzles.ALL) {
+                try {
+                    puzzle.answer(puzzle.solver(), InputSource.resource(puzzle.owner(), puzzle.resourcePath()), RunOptions.none());
+                } catch (IOException | RuntimeException ex) {
+                    logger.log(Level.WARNING, "Warm-up of puzzle " + puzzle.id() + " failed", ex);
+                }
+            }
+        }
+        logger.log(Level.INFO, "Warmed up {0} puzzles in {1} ms",
+                new Object[] {Puzzles.ALL.size(), (System.nanoTime() - start) / 1_000_000});
+    }
+
+    public void serve(SocketAddress address) throws IOException {
+        boolean unixSocket = address instanceof UnixDomainSocketAddress;
+        if (unixSocket) {
+            // a socket file left behind by a killed daemon would make the bind fail
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+        }
+        try (ServerSocketChannel server = unixSocket
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open()) {
+            server.bind(address);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> close(server, address)));
+            logger.log(Level.INFO, "Listening on {0}", server.getLocalAddress());
+            while (true) {
+                SocketChannel client = server.accept();
+                connections.execute(() -> handle(client));
+            }
+        } catch (ClosedChannelException ex) {
+            // closed by the shutdown hook
+        } finally {
+            connections.shutdownNow();
+            solvers.shutdownNow();
+        }
+    }
+
+    private void handle(SocketChannel client) {
+        try (client;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+             PrintWriter writer = new PrintWriter(Channels.newWriter(client, StandardCharsets.UTF_8), true)) {
+            String request;
+            while ((request = reader.readLine()) != null) {
+                String[] words = request.trim().split("\\s+", 4);
+                switch (words[0].toUpperCase()) {
+                    case "SOLVE" -> writer.println(words.length == 4
+                            ? solve(words[1], words[2], words[3])
+                            : "ERROR expected SOLVE <day> <part> <input path>");
+                    case "STATS" -> writer.print(stats());
+                    case "QUIT" -> {
+                        return;
+                    }
+                    case "" -> {}
+                    default -> writer.println("ERROR unknown command " + words[0]);
+                }
+                writer.flush();
+            }
+        } catch (IOException ex) {
+            logger.log(Level.FINE, "Connection closed", ex);
+        }
+    }
+
+    // the latency covers the wait for a solver thread as well, which is what a client observes
+    public String solve(String day, String part, String inputPath) {
+        Optional<Puzzle> puzzle = Puzzles.find(day + "." + part);
+        if (puzzle.isEmpty()) {
+            return "ERROR no puzzle " + day + "." + part;
+        }
+        long start = System.nanoTime();
+        Future<String> answer = solvers.submit(() ->
+                puzzle.get().answer(puzzle.get().solver(), InputSource.file(Path.of(inputPath)), options));
+        try {
+            String result = answer.get();
+            long nanos = System.nanoTime() - start;
+            latencies.computeIfAbsent(puzzle.get(), key -> new LatencyHistogram()).record(nanos);
+            return "OK " + result + " " + nanos / 1_000;
+        } catch (ExecutionException ex) {
+            logger.log(Level.WARNING, "Puzzle " + puzzle.get().id() + " failed on " + inputPath, ex.getCause());
+            return "ERROR " + ex.getCause();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            answer.cancel(true);
+            return "ERROR interrupted";
+        }
+    }
+
+    public String stats() {
+        StringBuilder stats = new StringBuilder();
+        stats.append(String.format("%-10s %8s %10s %10s %10s %10s %10s  %s%n",
+                "puzzle", "count", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms", "histogram (<= ms: count)"));
+        for (Map.Entry<Puzzle, LatencyHistogram> entry: latencies.entrySet()) {
+            LatencyHistogram.Summary summary = entry.getValue().summary();
+            stats.append(String.format("%-10s %8d %10.3f %10.3f %10.3f %10.3f %10.3f  %s%n",
+                    entry.getKey().id(),
+                    summary.count(),
+                    summary.meanNanos() / 1e6,
+                    summary.percentileNanos(50) / 1e6,
+                    summary.percentileNanos(90) / 1e6,
+                    summary.percentileNanos(99) / 1e6,
+                    summary.maxNanos() / 1e6,
+                    buckets(summary)));
+        }
+        stats.append("END").append(System.lineSeparator());
+        return stats.toString();
+    }
+
+    private static String buckets(LatencyHistogram.Summary summary) {
+        StringBuilder buckets = new StringBuilder();
+        long[] counts = summary.buckets();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                buckets.append(String.format("%.3f:%d ", ((1L << (i + 1)) - 1) / 1e6, counts[i]));
+            }
+        }
+        return buckets.toString().trim();
+    }
+
+    private void close(ServerSocketChannel server, SocketAddress address) {
+        try {
+            server.close();
+            if (address instanceof UnixDomainSocketAddress) {
+                Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+            }
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "Unable to close " + address, ex);
+        }
+    }
+}
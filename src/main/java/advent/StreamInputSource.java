@@ -0,0 +1,52 @@
+package advent;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+public class StreamInputSource implements InputSource {
+    private final String name;
+    private final StreamOpener opener;
+    private byte[] content;
+
+    public StreamInputSource(String name, StreamOpener opener) {
+        this.name = name;
+        this.opener = opener;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return content().length;
+    }
+
+    @Override
+    public ByteBuffer bytes() throws IOException {
+        return ByteBuffer.wrap(content()).asReadOnlyBuffer();
+    }
+
+    @Override
+    public InputStream stream() throws IOException {
+        return new ByteArrayInputStream(content());
+    }
+
+    // streams such as stdin can be consumed only once, so their content is kept after the first read
+    private synchronized byte[] content() throws IOException {
+        if (content == null) {
+            try (InputStream inputStream = opener.open()) {
+                content = inputStream.readAllBytes();
+            }
+        }
+        return content;
+    }
+
+    @FunctionalInterface
+    public interface StreamOpener {
+        InputStream open() throws IOException;
+    }
+}
@@ -0,0 +1,210 @@
+package advent;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+public class SuiteRunner {
+    private static final Logger logger = Logger.getLogger(SuiteRunner.class.getName());
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        Path inputDirectory = null;
+        Path recordingFile = null;
+        Path cacheDirectory = null;
+        Path snapshotDirectory = null;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        boolean bothParts = false;
+        List<String> selectors = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--input-dir" -> inputDirectory = Path.of(args[++i]);
+                case "--threads" -> parallelism = Integer.parseInt(args[++i]);
+                case "--jfr" -> recordingFile = Path.of(args[++i]);
+                case "--cache-dir" -> cacheDirectory = Path.of(args[++i]);
+                case "--snapshot-dir" -> snapshotDirectory = Path.of(args[++i]);
+                case "--both-parts" -> bothParts = true;
+                default -> selectors.add(args[i]);
+            }
+        }
+
+        Path directory = inputDirectory;
+        Function<Puzzle, InputSource> inputs = directory == null
+                ? puzzle -> InputSource.resource(puzzle.owner(), puzzle.resourcePath())
+                : puzzle -> puzzle.input(directory);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        Recording recording = null;
+        try {
+            if (recordingFile != null) {
+                recording = new Recording(Configuration.getConfiguration("profile"));
+                recording.setDestination(recordingFile);
+                recording.start();
+            }
+            RunOptions options = RunOptions.of(cacheDirectory, snapshotDirectory);
+            long start = System.nanoTime();
+            List<Puzzle> puzzles = bothParts ? Puzzles.fuse(Puzzles.select(selectors)) : Puzzles.select(selectors);
+            List<Report> reports = run(puzzles, inputs, executor, options);
+            long wallNanos = System.nanoTime() - start;
+            System.out.print(format(reports, wallNanos));
+            if (parallelism > 1 && puzzles.size() > 1) {
+                System.out.println("cpu and allocated cover all threads and overlap between puzzles solved at the same time, "
+                        + "run with --threads 1 for figures per puzzle");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.log(Level.SEVERE, "Suite run was interrupted", ex);
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Unable to open result cache, snapshot store or flight recording", ex);
+        } catch (ParseException ex) {
+            logger.log(Level.SEVERE, "Unable to read flight recording settings", ex);
+        } finally {
+            executor.shutdown();
+            if (recording != null) {
+                recording.close();
+            }
+        }
+    }
+
+    public static List<Report> run(List<Puzzle> puzzles,
+                                   Function<Puzzle, InputSource> inputs,
+                                   ExecutorService executor,
+                                   RunOptions options) throws InterruptedException {
+        List<Future<Report>> futures = new ArrayList<>();
+        for (Puzzle puzzle: puzzles) {
+            futures.add(executor.submit(() -> run(puzzle, inputs.apply(puzzle), options)));
+        }
+        List<Report> reports = new ArrayList<>();
+        for (Future<Report> future: futures) {
+            try {
+                reports.add(future.get());
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Puzzle task failed outside of its solver", ex.getCause());
+            }
+        }
+        return reports;
+    }
+
+    public static Report run(Puzzle puzzle, InputSource input, RunOptions options) {
+        return run(puzzle, puzzle.solver(), input, options);
+    }
+
+    // CPU time and allocations are summed over all threads, so the fork-join workers of the chunked solvers and
+    // parallel parsers count as well; puzzles solved at the same time share these figures
+    private static <M, R> Report run(Puzzle puzzle, Solver<M, R> solver, InputSource input, RunOptions options) {
+        Map<Long, ThreadUsage> usageStart = threadUsage();
+        long start = System.nanoTime();
+        long parsed = start;
+        String result;
+        CacheStatus cacheStatus = CacheStatus.DISABLED;
+        Optional<ResultCache> cache = options.cache();
+        try {
+            String key = cache.isPresent() ? ResultCache.key(solver, input) : null;
+            Optional<String> cached = cache.isPresent() ? cache.get().get(key) : Optional.empty();
+            if (cached.isPresent()) {
+                cacheStatus = CacheStatus.HIT;
+                result = cached.get();
+            } else {
+                M model = puzzle.parse(solver, input, options.snapshots());
+                parsed = System.nanoTime();
+                result = solver.format(puzzle.solve(solver, model));
+                if (cache.isPresent()) {
+                    cacheStatus = CacheStatus.MISS;
+                    cache.get().put(key, result);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.log(Level.SEVERE, "Puzzle " + puzzle.id() + " failed", ex);
+            result = "failed";
+        }
+        long end = System.nanoTime();
+        long cpuNanos = 0;
+        long allocatedBytes = 0;
+        for (Map.Entry<Long, ThreadUsage> thread: threadUsage().entrySet()) {
+            ThreadUsage before = usageStart.getOrDefault(thread.getKey(), ThreadUsage.NONE);
+            cpuNanos += Math.max(0, thread.getValue().cpuNanos() - before.cpuNanos());
+            allocatedBytes += Math.max(0, thread.getValue().allocatedBytes() - before.allocatedBytes());
+        }
+        return new Report(puzzle, result, cacheStatus, parsed - start, end - parsed, cpuNanos, allocatedBytes);
+    }
+
+    private static Map<Long, ThreadUsage> threadUsage() {
+        long[] ids = threads.getAllThreadIds();
+        long[] cpuNanos = threads.getThreadCpuTime(ids);
+        long[] allocatedBytes = threads.getThreadAllocatedBytes(ids);
+        Map<Long, ThreadUsage> usage = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            // a thread that ended meanwhile reports -1
+            if (cpuNanos[i] >= 0 && allocatedBytes[i] >= 0) {
+                usage.put(ids[i], new ThreadUsage(cpuNanos[i], allocatedBytes[i]));
+            }
+        }
+        return usage;
+    }
+
+    public static String format(List<Report> reports, long wallNanos) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-10s %26s %8s %10s %10s %10s %10s %12s%n",
+                "puzzle", "result", "cache", "parse ms", "solve ms", "wall ms", "cpu ms", "allocated"));
+        for (Report entry: reports) {
+            report.append(String.format("%-10s %26s %8s %10.2f %10.2f %10.2f %10.2f %12d%n",
+                    entry.puzzle().id(),
+                    entry.result(),
+                    entry.cacheStatus().label(),
+                    entry.parseNanos() / 1e6,
+                    entry.solveNanos() / 1e6,
+                    entry.wallNanos() / 1e6,
+                    entry.cpuNanos() / 1e6,
+                    entry.allocatedBytes()));
+        }
+        report.append(String.format("suite wall time %.2f ms%n", wallNanos / 1e6));
+        return report.toString();
+    }
+
+    public enum CacheStatus {
+        DISABLED("-"),
+        HIT("hit"),
+        MISS("miss");
+
+        private final String label;
+
+        CacheStatus(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    private static record ThreadUsage(long cpuNanos, long allocatedBytes) {
+        static final ThreadUsage NONE = new ThreadUsage(0, 0);
+    }
+
+    public static record Report(Puzzle puzzle,
+                                String result,
+                                CacheStatus cacheStatus,
+                                long parseNanos,
+                                long solveNanos,
+                                long cpuNanos,
+                                long allocatedBytes) {
+        public long wallNanos() {
+            return parseNanos + solveNanos;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package advent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+// line-sum puzzles over files that only grow: the sums of all complete lines are kept in a state file
+// with the offset they cover, so each run reads only the bytes appended since. A last line without its
+// line break is added to the answer but not to the state, and is read again once it is complete.
+// Checksums of the first and last bytes before the offset tell a rewritten or truncated file apart
+// from an appended one, in which case the file is scanned from the start.
+public class TailRunner {
+    private static final Logger logger = Logger.getLogger(TailRunner.class.getName());
+    private static final String STATE_VERSION = "1";
+    private static final String STATE_SUFFIX = ".tail";
+    private static final int FINGERPRINT_SIZE = 4 << 10;
+    private static final int WINDOW_SIZE = 1 << 30;
+
+    private final Puzzle puzzle;
+    private final Solver<?, ?> solver;
+    private final LineSums lineSums;
+    private final Path input;
+    private final Path stateFile;
+
+    public TailRunner(Puzzle puzzle, Path input, Path stateFile) {
+        this.puzzle = puzzle;
+        this.solver = puzzle.solver();
+        this.lineSums = lineSums(puzzle, solver);
+        this.input = input;
+        this.stateFile = stateFile;
+    }
+
+    public static void main(String[] args) {
+        Path stateFile = null;
+        boolean watch = false;
+        String puzzleId = null;
+        Path input = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--state" -> stateFile = Path.of(args[++i]);
+                case "--watch" -> watch = true;
+                default -> {
+                    if (puzzleId == null) {
+                        puzzleId = args[i];
+                    } else {
+                        input = Path.of(args[i]);
+                    }
+                }
+            }
+        }
+        if (puzzleId == null || input == null) {
+            throw new IllegalArgumentException("Expected <puzzle> <input file> [--state file] [--watch]");
+        }
+        String id = puzzleId;
+        Puzzle puzzle = Puzzles.find(id).orElseThrow(() -> new IllegalArgumentException("No puzzle " + id));
+        TailRunner runner = new TailRunner(puzzle, input,
+                stateFile == null ? Path.of(input + "." + puzzle.id() + STATE_SUFFIX) : stateFile);
+        try {
+            if (watch) {
+                runner.watch();
+            } else {
+                logger.log(Level.INFO, "Result = {0}", runner.update());
+            }
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Unable to read input file or tail state", ex);
+        }
+    }
+
+    public String update() throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            TailState state = loadState()
+                    .filter(saved -> saved.matches(channel, size, solverKey()))
+                    .orElseGet(() -> new TailState(solverKey(), 0, new long[lineSums.width()], 0, 0));
+            if (state.offset() > 0) {
+                logger.log(Level.FINE, "Resuming {0} at offset {1}", new Object[] {input, state.offset()});
+            }
+            long[] sums = state.sums().clone();
+            long offset = sumCompleteLines(channel, state.offset(), size, sums);
+            if (offset != state.offset()) {
+                saveState(new TailState(solverKey(), offset, sums, headFingerprint(channel, offset), tailFingerprint(channel, offset)));
+            }
+            return lineSums.formatter().apply(withPartialLine(channel, offset, size, sums));
+        }
+    }
+
+    public void watch() throws IOException {
+        logger.log(Level.INFO, "Result = {0}", update());
+        Path directory = input.toAbsolutePath().getParent();
+        Path name = input.getFileName();
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean changed = false;
+                for (WatchEvent<?> event: key.pollEvents()) {
+                    changed |= name.equals(event.context());
+                }
+                if (changed) {
+                    try {
+                        logger.log(Level.INFO, "Result = {0}", update());
+                    } catch (NoSuchFileException ex) {
+                        logger.log(Level.WARNING, "Input file {0} disappeared", input);
+                    }
+                }
+                if (!key.reset()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ex) {
+            // closed while the JVM shuts down
+        }
+    }
+
+    // returns the offset after the last line break, the lines before it are added to the sums
+    private long sumCompleteLines(FileChannel channel, long from, long size, long[] sums) throws IOException {
+        long offset = from;
+        while (offset < size) {
+            int length = (int) Math.min(WINDOW_SIZE, size - offset);
+            ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            int end = length;
+            while (end > 0 && window.get(end - 1) != '\n') {
+                end--;
+            }
+            if (end == 0) {
+                if (length == WINDOW_SIZE) {
+                    throw new IllegalStateException("Line at offset " + offset + " is longer than " + WINDOW_SIZE + " bytes");
+                }
+                break;
+            }
+            long[] added = ChunkedLineProcessor.sums(window.slice(0, end), lineSums.width(), lineSums.accumulators());
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] = Math.addExact(sums[i], added[i]);
+            }
+            offset += end;
+        }
+        return offset;
+    }
+
+    // a line that is still being written may not parse yet, the answer then covers the complete lines only
+    private long[] withPartialLine(FileChannel channel, long offset, long size, long[] sums) throws IOException {
+        if (offset == size) {
+            return sums;
+        }
+        ByteBuffer partial = channel.map(FileChannel.MapMode.READ_ONLY, offset, size - offset);
+        long[] total = sums.clone();
+        try {
+            ChunkedLineProcessor.accumulateLines(partial, 0, partial.limit(), lineSums.accumulators().get(), total);
+            return total;
+        } catch (RuntimeException ex) {
+            logger.log(Level.WARNING, "Skipping incomplete last line at offset " + offset, ex);
+            return sums;
+        }
+    }
+
+    private String solverKey() {
+        return solver.getClass().getName() + solver.parameters();
+    }
+
+    private Optional<TailState> loadState() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(stateFile)) {
+            properties.load(stream);
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        }
+        if (!STATE_VERSION.equals(properties.getProperty("version"))) {
+            return Optional.empty();
+        }
+        TailState state;
+        try {
+            state = new TailState(
+                    properties.getProperty("solver"),
+                    Long.parseLong(properties.getProperty("offset")),
+                    Arrays.stream(properties.getProperty("sums").split(",")).mapToLong(Long::parseLong).toArray(),
+                    Long.parseLong(properties.getProperty("head")),
+                    Long.parseLong(properties.getProperty("tail")));
+        } catch (RuntimeException ex) {
+            logger.log(Level.WARNING, "Ignoring unreadable tail state " + stateFile, ex);
+            return Optional.empty();
+        }
+        // a state with another number of sums would index past them or leave answers out
+        if (state.sums().length != lineSums.width()) {
+            logger.log(Level.WARNING, "Ignoring tail state {0} with {1} sums", new Object[] {stateFile, state.sums().length});
+            return Optional.empty();
+        }
+        return Optional.of(state);
+    }
+
+    private void saveState(TailState state) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("version", STATE_VERSION);
+        properties.setProperty("puzzle", puzzle.id());
+        properties.setProperty("solver", state.solver());
+        properties.setProperty("offset", String.valueOf(state.offset()));
+        properties.setProperty("sums", Arrays.stream(state.sums()).mapToObj(String::valueOf).collect(Collectors.joining(",")));
+        properties.setProperty("head", String.valueOf(state.headChecksum()));
+        properties.setProperty("tail", String.valueOf(state.tailChecksum()));
+        Path directory = stateFile.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, stateFile.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(temporary)) {
+                properties.store(stream, "tail state of " + input);
+            }
+            Files.move(temporary, stateFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static long headFingerprint(FileChannel channel, long offset) throws IOException {
+        return checksum(channel, 0, Math.min(offset, FINGERPRINT_SIZE));
+    }
+
+    private static long tailFingerprint(FileChannel channel, long offset) throws IOException {
+        long length = Math.min(offset, FINGERPRINT_SIZE);
+        return checksum(channel, offset - length, length);
+    }
+
+    private static long checksum(FileChannel channel, long position, long length) throws IOException {
+        CRC32 crc = new CRC32();
+        if (length > 0) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+        }
+        return crc.getValue();
+    }
+
+    private static LineSums lineSums(Puzzle puzzle, Solver<?, ?> solver) {
+        if (solver instanceof LineSumSolver lineSumSolver) {
+            return new LineSums(1,
+                    () -> {
+                        LineFunction lineFunction = lineSumSolver.lineFunction();
+                        return (buffer, start, end, sums) -> sums[0] = Math.addExact(sums[0], lineFunction.apply(buffer, start, end));
+                    },
+                    sums -> lineSumSolver.format(sums[0]));
+        }
+        if (solver instanceof BothPartsLineSolver bothPartsSolver) {
+            return new LineSums(2,
+                    bothPartsSolver::lineAccumulator,
+                    sums -> bothPartsSolver.format(BothPartsSolver.answers(sums[0], sums[1])));
+        }
+        throw new IllegalArgumentException("Puzzle " + puzzle.id() + " is not a sum over independent lines");
+    }
+
+    private static record LineSums(int width, Supplier<LineAccumulator> accumulators, Function<long[], String> formatter) {}
+
+    private static record TailState(String solver, long offset, long[] sums, long headChecksum, long tailChecksum) {
+
+        boolean matches(FileChannel channel, long size, String solverKey) {
+            if (!solver.equals(solverKey) || offset > size) {
+                return false;
+            }
+            try {
+                return headChecksum == headFingerprint(channel, offset) && tailChecksum == tailFingerprint(channel, offset);
+            } catch (IOException ex) {
+                return false;
+            }
+        }
+    }
+}
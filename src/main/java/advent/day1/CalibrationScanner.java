@@ -0,0 +1,105 @@
+package advent.day1;
+
+import advent.ChunkFunction;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// sums the calibration values of a whole chunk in one pass, eight bytes at a time: each little-endian word
+// is turned into one mask with the high bit of every line break byte set and one for the digit bytes.
+// Only the line breaks and the digits next to them are visited, the lowest digit bit of a line is its
+// first digit and the highest one before the line break its last. The last few bytes of a chunk are
+// padded with zeros to a full word.
+public class CalibrationScanner implements ChunkFunction {
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LINE_BREAKS = 0x0A0A0A0A0A0A0A0AL;
+    // adding these to a byte below 0x80 sets its high bit from '0' and from '9' + 1 on
+    private static final long FROM_ZERO = 0x5050505050505050L;
+    private static final long BEYOND_NINE = 0x4646464646464646L;
+
+    @Override
+    public long apply(ByteBuffer chunk) {
+        ByteBuffer words = chunk.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int end = chunk.limit();
+        long sum = 0;
+        int lineStart = chunk.position();
+        int firstDigit = -1;
+        int lastDigit = -1;
+        for (int i = chunk.position(); i < end; i += Long.BYTES) {
+            long word = end - i >= Long.BYTES ? words.getLong(i) : partialWord(chunk, i, end);
+            long lineBreaks = zeroBytes(word ^ LINE_BREAKS);
+            long digits = digitBytes(word);
+            while (lineBreaks != 0) {
+                int lineBreak = Long.numberOfTrailingZeros(lineBreaks);
+                long before = (1L << lineBreak) - 1;
+                long lineDigits = digits & before;
+                if (lineDigits != 0) {
+                    if (firstDigit < 0) {
+                        firstDigit = firstValue(word, lineDigits);
+                    }
+                    lastDigit = lastValue(word, lineDigits);
+                }
+                int position = i + (lineBreak >>> 3);
+                if (firstDigit < 0) {
+                    requireEmpty(chunk, lineStart, position);
+                } else {
+                    sum = Math.addExact(sum, firstDigit * 10L + lastDigit);
+                }
+                lineStart = position + 1;
+                firstDigit = -1;
+                digits &= ~before;
+                lineBreaks &= lineBreaks - 1;
+            }
+            if (digits != 0) {
+                if (firstDigit < 0) {
+                    firstDigit = firstValue(word, digits);
+                }
+                lastDigit = lastValue(word, digits);
+            }
+        }
+        if (lineStart < end) {
+            if (firstDigit < 0) {
+                requireEmpty(chunk, lineStart, end);
+            } else {
+                sum = Math.addExact(sum, firstDigit * 10L + lastDigit);
+            }
+        }
+        return sum;
+    }
+
+    // the low nibble of an ASCII digit is its value
+    private static int firstValue(long word, long digits) {
+        return (int) (word >>> (Long.numberOfTrailingZeros(digits) & ~7)) & 0xF;
+    }
+
+    private static int lastValue(long word, long digits) {
+        return (int) (word >>> ((Long.SIZE - 1 - Long.numberOfLeadingZeros(digits)) & ~7)) & 0xF;
+    }
+
+    // lines without digits are fine only when they are empty, as ChunkedLineProcessor.sumLines skips those
+    private static void requireEmpty(ByteBuffer chunk, int lineStart, int lineEnd) {
+        int length = lineEnd - lineStart;
+        if (length > 1 || length == 1 && chunk.get(lineStart) != '\r') {
+            throw new IllegalStateException("No digits in calibration value at offset " + lineStart);
+        }
+    }
+
+    private static long partialWord(ByteBuffer chunk, int from, int end) {
+        long word = 0;
+        for (int i = end - 1; i >= from; i--) {
+            word = word << 8 | (chunk.get(i) & 0xFF);
+        }
+        return word;
+    }
+
+    // exact per byte, unlike the usual (word - 0x01..) & ~word test whose borrows flag the byte above a zero
+    private static long zeroBytes(long word) {
+        return ~(((word & LOW_BITS) + LOW_BITS) | word | LOW_BITS);
+    }
+
+    // bytes with the high bit set are masked before the additions so no carry crosses into the next byte
+    private static long digitBytes(long word) {
+        long low = word & LOW_BITS;
+        return (low + FROM_ZERO) & ~(low + BEYOND_NINE) & ~word & HIGH_BITS;
+    }
+}
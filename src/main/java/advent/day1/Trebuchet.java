@@ -1,102 +1,140 @@
 package advent.day1;
 
-import advent.ResourceUtils;
-import java.io.BufferedReader;
+import advent.ChunkedLineProcessor;
+import advent.InputSource;
+import advent.LineFunction;
+import advent.LineSumSolver;
+import advent.Puzzle;
 import java.io.IOException;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
 
 public class Trebuchet {
-    private static final Logger logger = Logger.getLogger(Trebuchet.class.getName());
     private static final String CALIBRATION_VALUES_1 = "day1/calibration-values-1.txt";
     private static final String CALIBRATION_VALUES_2 = "day1/calibration-values-2.txt";
 
+    public static final Puzzle PART_1 = new Puzzle(1, 1, Trebuchet.class, CALIBRATION_VALUES_1, Solution1::new);
+    public static final Puzzle PART_2 = new Puzzle(1, 2, Trebuchet.class, CALIBRATION_VALUES_2, Solution2::new);
 
-    public static class Solution1 {
+    public static class Solution1 implements LineSumSolver {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(Trebuchet.class, CALIBRATION_VALUES_1)) {
-                Integer result = reader.lines()
-                        .mapToInt(Solution1::calibrationValue)
-                        .sum();
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_1.run(args);
+        }
+
+        @Override
+        public LineFunction lineFunction() {
+            return Solution1::calibrationValue;
         }
 
-        private static int calibrationValue(String value) {
-            List<Integer> digits = value.chars()
-                    .filter(Character::isDigit)
-                    .mapToObj(Character::toString)
-                    .map(Integer::valueOf)
-                    .collect(Collectors.toList());
-            String resultValue = "%d%d".formatted(digits.get(0), digits.get(digits.size() - 1));
-            return Integer.parseInt(resultValue);
+        // whole chunks are scanned at once, the line function remains for line by line callers like tail mode
+        @Override
+        public Long solve(InputSource input) throws IOException {
+            return ChunkedLineProcessor.sumChunks(input, CalibrationScanner::new);
+        }
+
+        static long calibrationValue(ByteBuffer line, int start, int end) {
+            int firstDigit = -1;
+            for (int i = start; i < end && firstDigit < 0; i++) {
+                firstDigit = digitValue(line.get(i));
+            }
+            int lastDigit = -1;
+            for (int i = end - 1; i >= start && lastDigit < 0; i--) {
+                lastDigit = digitValue(line.get(i));
+            }
+            if (firstDigit < 0) {
+                throw new IllegalStateException("No digits in calibration value at offset " + start);
+            }
+            return firstDigit * 10L + lastDigit;
         }
     }
 
-    public static class Solution2 {
+    public static class Solution2 implements LineSumSolver {
+        private static final String[] DIGIT_TEXTS = {"one", "two", "three", "four", "five", "six", "seven", "eight", "nine"};
+
+        // the digits themselves and their spelled names
+        public static final Map<String, Integer> DIGIT_WORDS = digitWords();
+
+        private final Map<String, Integer> vocabulary;
+        private final WordAutomaton forward;
+        private final WordAutomaton backward;
+
+        public Solution2() {
+            this(DIGIT_WORDS);
+        }
 
-        private static final Map<String, Integer> DIGIT_TEXT_VALUES = Map.of(
-                "one", 1,
-                "two", 2,
-                "three", 3,
-                "four", 4,
-                "five", 5,
-                "six", 6,
-                "seven", 7,
-                "eight", 8,
-                "nine", 9
-        );
+        public Solution2(Map<String, Integer> vocabulary) {
+            this.vocabulary = new TreeMap<>(vocabulary);
+            this.forward = WordAutomaton.forward(vocabulary);
+            this.backward = WordAutomaton.reversed(vocabulary);
+        }
 
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(Trebuchet.class, CALIBRATION_VALUES_2)) {
-                Integer result = reader.lines()
-                        .mapToInt(Solution2::calibrationValue)
-                        .sum();
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
+            PART_2.run(args);
+        }
+
+        @Override
+        public Map<String, Object> parameters() {
+            return vocabulary.equals(DIGIT_WORDS) ? Map.of() : Map.of("vocabulary", vocabulary);
+        }
+
+        @Override
+        public LineFunction lineFunction() {
+            return this::calibrationValue;
+        }
+
+        long calibrationValue(ByteBuffer line, int start, int end) {
+            int firstDigit = firstValue(line, start, end);
+            if (firstDigit < 0) {
+                throw new IllegalStateException("No digits in calibration value at offset " + start);
             }
+            return firstDigit * 10L + lastValue(line, start, end);
         }
 
-        private static int calibrationValue(String value) {
-            Integer firstDigit = null;
-            Integer lastDigit = null;
-            for (int i = 0; i < value.length(); i++) {
-                Optional<Integer> foundInt = integerValue(value, i);
-                if (foundInt.isPresent()) {
-                    firstDigit = foundInt.get();
-                    break;
+        // matches are found in the order they end, and a longer word may start before a shorter one that ends
+        // first, so the scan goes on until no word that is still open can start before the best match
+        private int firstValue(ByteBuffer line, int start, int end) {
+            int state = forward.start();
+            int firstStart = end;
+            int value = -1;
+            for (int i = start; i < end && i < firstStart + forward.maxLength(); i++) {
+                state = forward.next(state, line.get(i));
+                int length = forward.length(state);
+                // on an equal start the longer word wins, it is the one found later
+                if (length > 0 && i - length + 1 <= firstStart) {
+                    firstStart = i - length + 1;
+                    value = forward.value(state);
                 }
             }
-            for (int i = value.length() - 1; i >= 0; i--) {
-                Optional<Integer> foundInt = integerValue(value, i);
-                if (foundInt.isPresent()) {
-                    lastDigit = foundInt.get();
-                    break;
+            return value;
+        }
+
+        // reading backwards, a word is recognised at its first byte, so the first match starts last
+        private int lastValue(ByteBuffer line, int start, int end) {
+            int state = backward.start();
+            for (int i = end - 1; i >= start; i--) {
+                state = backward.next(state, line.get(i));
+                if (backward.length(state) > 0) {
+                    return backward.value(state);
                 }
             }
-            Objects.requireNonNull(firstDigit);
-            Objects.requireNonNull(lastDigit);
-            return Integer.parseInt("%d%d".formatted(firstDigit, lastDigit));
+            return -1;
         }
 
-        private static Optional<Integer> integerValue(String value, int offset) {
-            char character = value.charAt(offset);
-            if (Character.isDigit(character)) {
-                return Optional.of(Integer.parseInt(Character.toString(character)));
+        private static Map<String, Integer> digitWords() {
+            Map<String, Integer> words = new TreeMap<>();
+            for (int digit = 0; digit <= 9; digit++) {
+                words.put(String.valueOf(digit), digit);
             }
-            return DIGIT_TEXT_VALUES.entrySet()
-                    .stream()
-                    .filter(entry -> value.startsWith(entry.getKey(), offset))
-                    .map(Map.Entry::getValue)
-                    .findFirst();
+            for (int i = 0; i < DIGIT_TEXTS.length; i++) {
+                words.put(DIGIT_TEXTS[i], i + 1);
+            }
+            return Collections.unmodifiableMap(words);
         }
     }
+
+    private static int digitValue(byte character) {
+        return character >= '0' && character <= '9' ? character - '0' : -1;
+    }
 }
@@ -0,0 +1,122 @@
+package advent.day1;
+
+import java.util.Arrays;
+import java.util.Map;
+
+// Aho-Corasick automaton over ASCII bytes: every missing transition is resolved through the failure links
+// while building, so matching is one table lookup per byte, and each state knows the longest word of the
+// vocabulary that ends in it. The reversed automaton reads a line from its end and recognises the words
+// backwards, so its first match is the word that starts last. Overlapping words such as "eightwo" are
+// found by both directions, as every state keeps tracking all partial matches.
+public class WordAutomaton {
+    private static final int ALPHABET = 128;
+    private static final int ROOT = 0;
+
+    private final int[] transitions;
+    private final int[] lengths;
+    private final int[] values;
+    private final int maxLength;
+
+    private WordAutomaton(int[] transitions, int[] lengths, int[] values, int maxLength) {
+        this.transitions = transitions;
+        this.lengths = lengths;
+        this.values = values;
+        this.maxLength = maxLength;
+    }
+
+    public static WordAutomaton forward(Map<String, Integer> vocabulary) {
+        return build(vocabulary, false);
+    }
+
+    public static WordAutomaton reversed(Map<String, Integer> vocabulary) {
+        return build(vocabulary, true);
+    }
+
+    public int start() {
+        return ROOT;
+    }
+
+    // bytes outside ASCII never take part in a word
+    public int next(int state, byte character) {
+        return character < 0 ? ROOT : transitions[state * ALPHABET + character];
+    }
+
+    // length of the longest word ending in the state, 0 if no word does
+    public int length(int state) {
+        return lengths[state];
+    }
+
+    public int value(int state) {
+        return values[state];
+    }
+
+    public int maxLength() {
+        return maxLength;
+    }
+
+    private static WordAutomaton build(Map<String, Integer> vocabulary, boolean reversed) {
+        int capacity = 1 + vocabulary.keySet().stream().mapToInt(String::length).sum();
+        int[] transitions = new int[capacity * ALPHABET];
+        Arrays.fill(transitions, -1);
+        int[] lengths = new int[capacity];
+        int[] values = new int[capacity];
+        Arrays.fill(values, -1);
+        int states = 1;
+        int maxLength = 0;
+        for (Map.Entry<String, Integer> word: vocabulary.entrySet()) {
+            String text = word.getKey();
+            if (text.isEmpty() || !text.chars().allMatch(character -> character < ALPHABET) || word.getValue() < 0) {
+                throw new IllegalArgumentException("Words must be non-empty ASCII with a non-negative value: " + word);
+            }
+            int state = ROOT;
+            for (int i = 0; i < text.length(); i++) {
+                char character = text.charAt(reversed ? text.length() - 1 - i : i);
+                int transition = state * ALPHABET + character;
+                if (transitions[transition] < 0) {
+                    transitions[transition] = states++;
+                }
+                state = transitions[transition];
+            }
+            lengths[state] = text.length();
+            values[state] = word.getValue();
+            maxLength = Math.max(maxLength, text.length());
+        }
+
+        // breadth first, so the failure state of every state is complete before the state itself
+        int[] failures = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int character = 0; character < ALPHABET; character++) {
+            int next = transitions[character];
+            if (next < 0) {
+                transitions[character] = ROOT;
+            } else {
+                failures[next] = ROOT;
+                queue[tail++] = next;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int failure = failures[state];
+            if (lengths[state] == 0) {
+                lengths[state] = lengths[failure];
+                values[state] = values[failure];
+            }
+            for (int character = 0; character < ALPHABET; character++) {
+                int transition = state * ALPHABET + character;
+                int next = transitions[transition];
+                if (next < 0) {
+                    transitions[transition] = transitions[failure * ALPHABET + character];
+                } else {
+                    failures[next] = transitions[failure * ALPHABET + character];
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return new WordAutomaton(Arrays.copyOf(transitions, states * ALPHABET),
+                Arrays.copyOf(lengths, states),
+                Arrays.copyOf(values, states),
+                maxLength);
+    }
+}
@@ -1,6 +1,5 @@
 package advent.day10;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Set;
 
@@ -23,17 +22,32 @@ public enum Node {
         this.symbol = symbol;
     }
 
+    private static final Node[] BY_SYMBOL = new Node[128];
+
+    // the neighbours a pipe can connect to on each side, shared so looking them up does not allocate
+    private static final Set<Node> TOP_CONNECTIONS = Set.of(VERTICAL, SOUTH_TO_EAST, SOUTH_TO_WEST, START);
+    private static final Set<Node> BOTTOM_CONNECTIONS = Set.of(VERTICAL, NORTH_TO_EAST, NORTH_TO_WEST, START);
+    private static final Set<Node> LEFT_CONNECTIONS = Set.of(HORIZONTAL, SOUTH_TO_EAST, NORTH_TO_EAST, START);
+    private static final Set<Node> RIGHT_CONNECTIONS = Set.of(HORIZONTAL, SOUTH_TO_WEST, NORTH_TO_WEST, START);
+
+    static {
+        for (Node node : values()) {
+            BY_SYMBOL[node.symbol] = node;
+        }
+    }
+
     public static Node from(char character) {
-        return Arrays.stream(Node.values())
-                .filter(node -> node.getSymbol() == character)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Unknown character"));
+        Node node = character < BY_SYMBOL.length ? BY_SYMBOL[character] : null;
+        if (node == null) {
+            throw new IllegalArgumentException("Unknown character");
+        }
+        return node;
     }
 
     public Set<Node> possibleTopDirections() {
         switch (this) {
             case VERTICAL, NORTH_TO_EAST, NORTH_TO_WEST, START -> {
-                return Set.of(VERTICAL, SOUTH_TO_EAST, SOUTH_TO_WEST, START);
+                return TOP_CONNECTIONS;
             }
             case HORIZONTAL, SOUTH_TO_EAST, SOUTH_TO_WEST -> {
                 return Collections.emptySet();
@@ -46,7 +60,7 @@ public enum Node {
     public Set<Node> possibleBottomDirections() {
         switch (this) {
             case VERTICAL, SOUTH_TO_EAST, SOUTH_TO_WEST, START -> {
-                return Set.of(VERTICAL, NORTH_TO_EAST, NORTH_TO_WEST, START);
+                return BOTTOM_CONNECTIONS;
             }
             case HORIZONTAL, NORTH_TO_EAST, NORTH_TO_WEST -> {
                 return Collections.emptySet();
@@ -59,7 +73,7 @@ public enum Node {
     public Set<Node> possibleLeftDirections() {
         switch (this) {
             case HORIZONTAL, SOUTH_TO_WEST, NORTH_TO_WEST, START -> {
-                return Set.of(HORIZONTAL, SOUTH_TO_EAST, NORTH_TO_EAST, START);
+                return LEFT_CONNECTIONS;
             }
             case VERTICAL, SOUTH_TO_EAST, NORTH_TO_EAST -> {
                 return Collections.emptySet();
@@ -72,7 +86,7 @@ public enum Node {
     public Set<Node> possibleRightDirections() {
         switch (this) {
             case HORIZONTAL, SOUTH_TO_EAST, NORTH_TO_EAST, START -> {
-                return Set.of(HORIZONTAL, SOUTH_TO_WEST, NORTH_TO_WEST, START);
+                return RIGHT_CONNECTIONS;
             }
             case VERTICAL, SOUTH_TO_WEST, NORTH_TO_WEST -> {
                 return Collections.emptySet();
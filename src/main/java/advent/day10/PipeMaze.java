@@ -1,140 +1,101 @@
 package advent.day10;
 
-import advent.ResourceUtils;
-import java.io.BufferedReader;
+import advent.Grid;
+import advent.InputSource;
+import advent.Puzzle;
+import advent.Solver;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.nio.ByteBuffer;
+import java.util.Set;
 
 public class PipeMaze {
-    private static final Logger logger = Logger.getLogger(PipeMaze.class.getName());
     private static final String BLUEPRINT = "day10/pipes-blueprint.txt";
 
-    public static class Solution1 {
+    public static final Puzzle PART_1 = new Puzzle(10, 1, PipeMaze.class, BLUEPRINT, Solution1::new);
+
+    public static class Solution1 implements Solver<Grid, Integer> {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(PipeMaze.class, BLUEPRINT)) {
-                Node[][] blueprint = parseBlueprint(reader.lines().collect(Collectors.toList()));
-                NodePoint startPoint = findStart(blueprint);
+            PART_1.run(args);
+        }
 
-                int path = cyclePath(startPoint, blueprint);
-                int result = (int) Math.ceil(path * 1.0 / 2);
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+        @Override
+        public Grid parse(InputSource input) throws IOException {
+            return parseBlueprint(input.bytes());
         }
 
-        private static Node[][] parseBlueprint(List<String> lines) {
-            Node[][] blueprint = new Node[lines.size()][lines.get(0).length()];
-            for (int i = 0; i < lines.size(); i++) {
-                String line = lines.get(i);
-                for (int j = 0; j < line.length(); j++) {
-                    blueprint[i][j] = Node.from(line.charAt(j));
+        @Override
+        public Integer solve(Grid blueprint) {
+            int startPoint = findStart(blueprint);
+            int path = cyclePath(startPoint, blueprint);
+            return (int) Math.ceil(path * 1.0 / 2);
+        }
+
+        // the cells keep their symbols, every one of them is checked to be a known node here;
+        // the border is ground, which no pipe connects to
+        static Grid parseBlueprint(ByteBuffer input) {
+            Grid blueprint = Grid.parse(input, (byte) Node.GROUND.getSymbol());
+            for (int i = 0; i < blueprint.height(); i++) {
+                for (int j = 0; j < blueprint.width(); j++) {
+                    Node.from((char) blueprint.get(i, j));
                 }
             }
             return blueprint;
         }
 
-        private static NodePoint findStart(Node[][] blueprint) {
-            for (int i = 0; i < blueprint.length; i++) {
-                for (int j = 0; j < blueprint[i].length; j++) {
-                    if (blueprint[i][j] == Node.START) {
-                        return new NodePoint(new Point(i, j), Node.START);
-                    }
-                }
+        static int findStart(Grid blueprint) {
+            int start = blueprint.find((byte) Node.START.getSymbol());
+            if (start < 0) {
+                throw new IllegalStateException("There is no starting node");
             }
-            throw new IllegalStateException("There is no starting node");
+            return start;
         }
 
-        private static List<NodePoint> getNeighbours(NodePoint nodePoint,  Node[][] blueprint) {
-            Point point = nodePoint.point();
-            Node node = nodePoint.node();
-
-            Optional<NodePoint> top = nodeAt(point.top(), blueprint);
-            Optional<NodePoint> bottom = nodeAt(point.bottom(), blueprint);
-            Optional<NodePoint> left = nodeAt(point.left(), blueprint);
-            Optional<NodePoint> right = nodeAt(point.right(), blueprint);
-
-            List<NodePoint> neighbors = new ArrayList<>();
-            if (top.isPresent() && node.possibleTopDirections().contains(top.get().node())) {
-                neighbors.add(top.get());
-            }
-            if (bottom.isPresent() && node.possibleBottomDirections().contains(bottom.get().node())) {
-                neighbors.add(bottom.get());
-            }
-            if (left.isPresent() && node.possibleLeftDirections().contains(left.get().node())) {
-                neighbors.add(left.get());
-            }
-            if (right.isPresent() && node.possibleRightDirections().contains(right.get().node())) {
-                neighbors.add(right.get());
+        // the first neighbour in NORTH, SOUTH, WEST, EAST order that the pipe connects to, other than
+        // the one it was entered from, or -1 if there is none
+        private static int nextPipe(int point, int lastVisited, Grid blueprint) {
+            Node node = nodeAt(point, blueprint);
+            for (int direction = Grid.NORTH; direction <= Grid.EAST; direction++) {
+                int neighbour = point + blueprint.orthogonalOffset(direction);
+                if (neighbour != lastVisited && connections(node, direction).contains(nodeAt(neighbour, blueprint))) {
+                    return neighbour;
+                }
             }
-            return neighbors;
+            return -1;
         }
 
-        private static Optional<NodePoint> nodeAt(Point point, Node[][] blueprint) {
-            if (!isInbound(point, blueprint)) {
-                return Optional.empty();
-            }
-            Node node = blueprint[point.x()][point.y()];
-            return Optional.of(new NodePoint(point, node));
+        private static Set<Node> connections(Node node, int direction) {
+            return switch (direction) {
+                case Grid.NORTH -> node.possibleTopDirections();
+                case Grid.SOUTH -> node.possibleBottomDirections();
+                case Grid.WEST -> node.possibleLeftDirections();
+                default -> node.possibleRightDirections();
+            };
         }
 
-        private static boolean isInbound(Point point, Node[][] blueprint) {
-            if (point.x() < 0 || point.x() >= blueprint.length) {
-                return false;
-            }
-            if (point.y() < 0 || point.y() >= blueprint[point.x()].length) {
-                return false;
-            }
-            return true;
+        private static Node nodeAt(int point, Grid blueprint) {
+            return Node.from((char) blueprint.get(point));
         }
 
-        private static int cyclePath(NodePoint startingPoint, Node[][] blueprint) {
-            NodePoint lastVisited = startingPoint;
-            NodePoint current = getNeighbours(startingPoint, blueprint)
-                    .stream()
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("Starting point should have at least 2 ingoing pipes forming a cycle"));
+        static int cyclePath(int startingPoint, Grid blueprint) {
+            int lastVisited = startingPoint;
+            int current = nextPipe(startingPoint, -1, blueprint);
+            if (current < 0) {
+                throw new IllegalStateException("Starting point should have at least 2 ingoing pipes forming a cycle");
+            }
             int path = 1;
 
-            while (!current.equals(startingPoint)) {
+            while (current != startingPoint) {
                 path++;
-                Optional<NodePoint> nextPipe = Optional.empty();
-                for (NodePoint neighborPipe : getNeighbours(current, blueprint)) {
-                    if (!neighborPipe.equals(lastVisited)) {
-                        nextPipe = Optional.of(neighborPipe);
-                        break;
-                    }
-                }
-                if (nextPipe.isEmpty()) {
-                    throw new IllegalStateException("No path further at point " + current);
+                int nextPipe = nextPipe(current, lastVisited, blueprint);
+                if (nextPipe < 0) {
+                    throw new IllegalStateException("No path further at point "
+                            + blueprint.row(current) + "," + blueprint.column(current));
                 }
                 lastVisited = current;
-                current = nextPipe.get();
+                current = nextPipe;
             }
 
             return path;
         }
     }
-
-    public static record Point(int x, int y) {
-        public Point top() {
-            return new Point(x - 1, y);
-        }
-        public Point bottom() {
-            return new Point(x + 1, y);
-        }
-        public Point left() {
-            return new Point(x, y - 1);
-        }
-        public Point right() {
-            return new Point(x, y + 1);
-        }
-    }
-
-    public static record NodePoint(Point point, Node node) {}
 }
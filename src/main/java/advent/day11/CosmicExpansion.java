@@ -1,38 +1,48 @@
 package advent.day11;
 
-import advent.ResourceUtils;
-import java.io.BufferedReader;
+import advent.BothPartsSolver;
+import advent.Grid;
+import advent.InputSource;
+import advent.Puzzle;
+import advent.Solver;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class CosmicExpansion {
-    private static final Logger logger = Logger.getLogger(CosmicExpansion.class.getName());
     private static final String IMAGE = "day11/space-image.txt";
 
-    public static class Solution1 {
+    public static final Puzzle PART_1 = new Puzzle(11, 1, CosmicExpansion.class, IMAGE, Solution1::new);
+    public static final Puzzle PART_2 = new Puzzle(11, 2, CosmicExpansion.class, IMAGE, Solution2::new);
+    public static final Puzzle BOTH = new Puzzle(11, Puzzle.BOTH_PARTS, CosmicExpansion.class, IMAGE, BothParts::new);
+
+    public static class Solution1 implements Solver<Set<Galaxy>, Integer> {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(CosmicExpansion.class, IMAGE)) {
-                char[][] spaceImage = parseImage(reader.lines().collect(Collectors.toList()));
-                Set<Galaxy> galaxies = collectGalaxies(spaceImage);
-                int result = sumAllPaths(galaxies);
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_1.run(args);
+        }
+
+        @Override
+        public Set<Galaxy> parse(InputSource input) throws IOException {
+            return collectGalaxies(parseImage(input.bytes()));
         }
 
-        private static int sumAllPaths(Set<Galaxy> galaxies) {
+        @Override
+        public Integer solve(Set<Galaxy> galaxies) {
+            return sumAllPaths(galaxies);
+        }
+
+        static int sumAllPaths(Set<Galaxy> galaxies) {
             int sum = 0;
             Set<GalaxyPair> visitedPairs = new HashSet<>();
             EmptySpace emptySpace = new EmptySpace(galaxies);
@@ -57,19 +67,29 @@ public class CosmicExpansion {
         }
     }
 
-    public static class Solution2 {
+    public static class Solution2 implements Solver<Set<Galaxy>, BigInteger> {
+        private static final int EXPANSION_FACTOR = 1_000_000;
+
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(CosmicExpansion.class, IMAGE)) {
-                char[][] spaceImage = parseImage(reader.lines().collect(Collectors.toList()));
-                Set<Galaxy> galaxies = collectGalaxies(spaceImage);
-                BigInteger result = sumAllPaths(galaxies);
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_2.run(args);
+        }
+
+        @Override
+        public Map<String, Object> parameters() {
+            return Map.of("expansionFactor", EXPANSION_FACTOR);
+        }
+
+        @Override
+        public Set<Galaxy> parse(InputSource input) throws IOException {
+            return collectGalaxies(parseImage(input.bytes()));
+        }
+
+        @Override
+        public BigInteger solve(Set<Galaxy> galaxies) {
+            return sumAllPaths(galaxies);
         }
 
-        private static BigInteger sumAllPaths(Set<Galaxy> galaxies) {
+        static BigInteger sumAllPaths(Set<Galaxy> galaxies) {
             BigInteger sum = BigInteger.ZERO;
             Set<GalaxyPair> visitedPairs = new HashSet<>();
             EmptySpace emptySpace = new EmptySpace(galaxies);
@@ -94,11 +114,48 @@ public class CosmicExpansion {
             int verticalPath = Math.abs(galaxy1.y - galaxy2.y);
             BigInteger pathWithoutExpansion = BigInteger.valueOf(horizontalPath + verticalPath);
             BigInteger expansionDelta = BigInteger.valueOf(emptySpace.spaceBetween(galaxy1, galaxy2))
-                    .multiply(BigInteger.valueOf(1_000_000 - 1));
+                    .multiply(BigInteger.valueOf(EXPANSION_FACTOR - 1));
             return pathWithoutExpansion.add(expansionDelta);
         }
     }
 
+    // a path is its plain distance plus the empty rows and columns it crosses times (factor - 1),
+    // so summing both terms once over all pairs gives the answer for any expansion factor
+    public static class BothParts implements BothPartsSolver<Set<Galaxy>, Long, Long> {
+        public static void main(String[] args) {
+            BOTH.run(args);
+        }
+
+        @Override
+        public Map<String, Object> parameters() {
+            return new Solution2().parameters();
+        }
+
+        @Override
+        public Set<Galaxy> parse(InputSource input) throws IOException {
+            return collectGalaxies(parseImage(input.bytes()));
+        }
+
+        @Override
+        public BothPartsSolver.Answers<Long, Long> solve(Set<Galaxy> galaxies) {
+            EmptySpace emptySpace = new EmptySpace(galaxies);
+            List<Galaxy> ordered = new ArrayList<>(galaxies);
+            long distances = 0;
+            long crossings = 0;
+            for (int i = 0; i < ordered.size(); i++) {
+                Galaxy galaxy1 = ordered.get(i);
+                for (int j = i + 1; j < ordered.size(); j++) {
+                    Galaxy galaxy2 = ordered.get(j);
+                    distances += Math.abs(galaxy1.x - galaxy2.x) + Math.abs(galaxy1.y - galaxy2.y);
+                    crossings += emptySpace.spaceBetween(galaxy1, galaxy2);
+                }
+            }
+            return BothPartsSolver.answers(
+                    Math.addExact(distances, crossings),
+                    Math.addExact(distances, Math.multiplyExact(crossings, Solution2.EXPANSION_FACTOR - 1L)));
+        }
+    }
+
     public static record Galaxy(int x, int y) implements Comparable<Galaxy> {
         @Override
         public int compareTo(Galaxy galaxy) {
@@ -109,11 +166,11 @@ public class CosmicExpansion {
         }
     }
 
-    private static Set<Galaxy> collectGalaxies(char[][] spaceImage) {
+    static Set<Galaxy> collectGalaxies(Grid spaceImage) {
         Set<Galaxy> galaxies = new HashSet<>();
-        for (int i = 0; i < spaceImage.length; i++) {
-            for (int j = 0; j < spaceImage[i].length; j++) {
-                if (spaceImage[i][j] == '#') {
+        for (int i = 0; i < spaceImage.height(); i++) {
+            for (int j = 0; j < spaceImage.width(); j++) {
+                if (spaceImage.get(i, j) == '#') {
                     galaxies.add(new Galaxy(i, j));
                 }
             }
@@ -121,15 +178,8 @@ public class CosmicExpansion {
         return galaxies;
     }
 
-    private static char[][] parseImage(List<String> lines) {
-        char[][] image = new char[lines.size()][lines.get(0).length()];
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i);
-            for (int j = 0; j < line.length(); j++) {
-                image[i][j] = line.charAt(j);
-            }
-        }
-        return image;
+    static Grid parseImage(ByteBuffer input) {
+        return Grid.parse(input, (byte) '.');
     }
 
     public static record GalaxyPair(Galaxy galaxy1, Galaxy galaxy2) {
@@ -0,0 +1,13 @@
+package advent.day2;
+
+// the amount of cubes of each standard colour in a bag, a bag never holds any other colour
+public record Bag(int red, int green, int blue) {
+    public int limit(int colour) {
+        return switch (colour) {
+            case Colours.RED -> red;
+            case Colours.GREEN -> green;
+            case Colours.BLUE -> blue;
+            default -> 0;
+        };
+    }
+}
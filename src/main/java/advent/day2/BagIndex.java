@@ -0,0 +1,117 @@
+package advent.day2;
+
+import java.util.Arrays;
+import java.util.List;
+
+// answers which games fit a bag without visiting the games: the distinct maxima of red, green and blue span
+// a compressed three dimensional table holding the count and the id sum of the games at each combination,
+// which is then turned into prefix sums along every axis. A bag is the corner of a box starting at the
+// origin, so its games are read from one cell after a binary search per colour. Games showing any other
+// colour fit no bag and are left out.
+public class BagIndex {
+    private static final int MAX_CELLS = 1 << 24;
+
+    private final int[] reds;
+    private final int[] greens;
+    private final int[] blues;
+    private final long[] counts;
+    private final long[] idSums;
+
+    private BagIndex(int[] reds, int[] greens, int[] blues, long[] counts, long[] idSums) {
+        this.reds = reds;
+        this.greens = greens;
+        this.blues = blues;
+        this.counts = counts;
+        this.idSums = idSums;
+    }
+
+    public static BagIndex build(GameTable games) {
+        int[] reds = distinctMaxima(games, Colours.RED);
+        int[] greens = distinctMaxima(games, Colours.GREEN);
+        int[] blues = distinctMaxima(games, Colours.BLUE);
+        long cells = (long) reds.length * greens.length * blues.length;
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException("Too many distinct kube amounts for a bag index: " + cells + " cells");
+        }
+        long[] counts = new long[(int) cells];
+        long[] idSums = new long[(int) cells];
+        for (int game = 0; game < games.games(); game++) {
+            if (!showsOnlyStandardColours(games, game)) {
+                continue;
+            }
+            int cell = cell(Arrays.binarySearch(reds, games.max(Colours.RED, game)),
+                    Arrays.binarySearch(greens, games.max(Colours.GREEN, game)),
+                    Arrays.binarySearch(blues, games.max(Colours.BLUE, game)),
+                    greens.length, blues.length);
+            counts[cell]++;
+            idSums[cell] = Math.addExact(idSums[cell], games.id(game));
+        }
+        int greenStride = blues.length;
+        int redStride = greens.length * blues.length;
+        accumulate(counts, idSums, reds.length, redStride);
+        accumulate(counts, idSums, greens.length, greenStride);
+        accumulate(counts, idSums, blues.length, 1);
+        return new BagIndex(reds, greens, blues, counts, idSums);
+    }
+
+    public Fit fit(Bag bag) {
+        int red = floor(reds, bag.red());
+        int green = floor(greens, bag.green());
+        int blue = floor(blues, bag.blue());
+        if (red < 0 || green < 0 || blue < 0) {
+            return new Fit(0, 0);
+        }
+        int cell = cell(red, green, blue, greens.length, blues.length);
+        return new Fit(idSums[cell], counts[cell]);
+    }
+
+    public List<Fit> fitAll(List<Bag> bags) {
+        return bags.stream().map(this::fit).toList();
+    }
+
+    private static boolean showsOnlyStandardColours(GameTable games, int game) {
+        for (int colour = Colours.BLUE + 1; colour < games.colours().size(); colour++) {
+            if (games.max(colour, game) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] distinctMaxima(GameTable games, int colour) {
+        int[] maxima = new int[games.games()];
+        for (int game = 0; game < maxima.length; game++) {
+            maxima[game] = games.max(colour, game);
+        }
+        Arrays.sort(maxima);
+        int distinct = 0;
+        for (int i = 0; i < maxima.length; i++) {
+            if (i == 0 || maxima[i] != maxima[i - 1]) {
+                maxima[distinct++] = maxima[i];
+            }
+        }
+        return Arrays.copyOf(maxima, distinct);
+    }
+
+    // adds every cell to the next one along an axis, the cells are visited in order so sums carry through
+    private static void accumulate(long[] counts, long[] idSums, int length, int stride) {
+        for (int cell = 0; cell < counts.length; cell++) {
+            if ((cell / stride) % length > 0) {
+                counts[cell] += counts[cell - stride];
+                idSums[cell] = Math.addExact(idSums[cell], idSums[cell - stride]);
+            }
+        }
+    }
+
+    private static int cell(int red, int green, int blue, int greens, int blues) {
+        return (red * greens + green) * blues + blue;
+    }
+
+    // index of the largest amount not above the limit, -1 if all are above it
+    private static int floor(int[] amounts, int limit) {
+        int index = Arrays.binarySearch(amounts, limit);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public static record Fit(long idSum, long count) {}
+}
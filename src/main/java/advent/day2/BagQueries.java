@@ -0,0 +1,69 @@
+package advent.day2;
+
+import advent.InputSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+// reads a games file once and answers any number of bags from its bag index: bags are given as
+// red,green,blue arguments such as 12,13,14 or listed one per line in a file passed with --bags.
+// Prints the bag, the number of games that fit it and the sum of their ids, tab separated.
+public class BagQueries {
+    private static final Logger logger = Logger.getLogger(BagQueries.class.getName());
+
+    public static void main(String[] args) {
+        Path games = null;
+        List<Bag> bags = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if ("--bags".equals(args[i])) {
+                    bags.addAll(readBags(Path.of(args[++i])));
+                } else if (games == null) {
+                    games = Path.of(args[i]);
+                } else {
+                    bags.add(parseBag(args[i]));
+                }
+            }
+            if (games == null || bags.isEmpty()) {
+                throw new IllegalArgumentException("Expected <games file> <red,green,blue>... [--bags file]");
+            }
+            BagIndex index = BagIndex.build(GameTable.read(InputSource.file(games).bytes()));
+            List<BagIndex.Fit> fits = index.fitAll(bags);
+            System.out.println("red\tgreen\tblue\tgames\tid sum");
+            for (int i = 0; i < bags.size(); i++) {
+                Bag bag = bags.get(i);
+                System.out.printf("%d\t%d\t%d\t%d\t%d%n", bag.red(), bag.green(), bag.blue(), fits.get(i).count(), fits.get(i).idSum());
+            }
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Unable to read games or bags", ex);
+        }
+    }
+
+    // empty lines and lines starting with # are skipped
+    static List<Bag> readBags(Path file) throws IOException {
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return lines.map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(BagQueries::parseBag)
+                    .toList();
+        }
+    }
+
+    static Bag parseBag(String bag) {
+        String[] amounts = bag.split("[,\\s]+");
+        if (amounts.length != 3) {
+            throw new IllegalArgumentException("Expected a bag as red,green,blue: " + bag);
+        }
+        try {
+            return new Bag(Integer.parseInt(amounts[0]), Integer.parseInt(amounts[1]), Integer.parseInt(amounts[2]));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Expected a bag as red,green,blue: " + bag, ex);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package advent.day2;
+
+import advent.AsciiTokenizer;
+import java.util.Arrays;
+
+// colour names by index in the order they were first seen, red, green and blue always come first;
+// a closed set knows only those three
+public class Colours {
+    public static final int RED = 0;
+    public static final int GREEN = 1;
+    public static final int BLUE = 2;
+
+    private static final long[] STANDARD_KEYS = {
+            AsciiTokenizer.key("red"),
+            AsciiTokenizer.key("green"),
+            AsciiTokenizer.key("blue")
+    };
+
+    private final boolean open;
+    private long[] keys = STANDARD_KEYS.clone();
+    private int size = STANDARD_KEYS.length;
+
+    private Colours(boolean open) {
+        this.open = open;
+    }
+
+    public static Colours standard() {
+        return new Colours(false);
+    }
+
+    public static Colours open() {
+        return new Colours(true);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // the index of a colour key, which an open set assigns on first sight, -1 for unknown colours of a closed set
+    public int index(long key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        if (!open) {
+            return -1;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, 2 * size);
+        }
+        keys[size] = key;
+        return size++;
+    }
+
+    public int index(String name) {
+        long key = AsciiTokenizer.key(name);
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public String name(int index) {
+        return AsciiTokenizer.identifier(keys[index]);
+    }
+}
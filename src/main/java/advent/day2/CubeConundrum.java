@@ -1,116 +1,204 @@
 package advent.day2;
 
-import advent.ResourceUtils;
-import java.io.BufferedReader;
+import advent.AsciiTokenizer;
+import advent.BothPartsLineSolver;
+import advent.BothPartsSolver;
+import advent.InputSource;
+import advent.LineAccumulator;
+import advent.LineFunction;
+import advent.LineSumSolver;
+import advent.Puzzle;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 public class CubeConundrum {
-    private static final Logger logger = Logger.getLogger(CubeConundrum.class.getName());
     private static final String KUBE_GAMES = "day2/kube-games.txt";
 
-    private static final String RED = "red";
-    private static final String GREEN = "green";
-    private static final String BLUE = "blue";
+    public static final Puzzle PART_1 = new Puzzle(2, 1, CubeConundrum.class, KUBE_GAMES, Solution1::new);
+    public static final Puzzle PART_2 = new Puzzle(2, 2, CubeConundrum.class, KUBE_GAMES, Solution2::new);
+    public static final Puzzle BOTH = new Puzzle(2, Puzzle.BOTH_PARTS, CubeConundrum.class, KUBE_GAMES, BothParts::new);
+    // answers both parts like BOTH from a game table, which also takes colours beyond red, green and blue
+    public static final Puzzle TABLE = new Puzzle(2, Puzzle.BOTH_PARTS, CubeConundrum.class, KUBE_GAMES, Table::new, "table");
+
+    public static class Solution1 implements LineSumSolver {
+        private static final int MAX_RED = 12;
+        private static final int MAX_GREEN = 13;
+        private static final int MAX_BLUE = 14;
+        private static final Bag BAG = new Bag(MAX_RED, MAX_GREEN, MAX_BLUE);
 
-    public static class Solution1 {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(CubeConundrum.class, KUBE_GAMES)) {
-                Integer result = reader.lines()
-                        .map(CubeConundrum::createGame)
-                        .filter(CubeConundrum.Solution1::isGamePossible)
-                        .mapToInt(Game::id)
-                        .sum();
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
+            PART_1.run(args);
+        }
+
+        @Override
+        public Map<String, Object> parameters() {
+            return Map.of("maxRed", MAX_RED, "maxGreen", MAX_GREEN, "maxBlue", MAX_BLUE);
+        }
+
+        @Override
+        public LineFunction lineFunction() {
+            return possibleGameIds();
+        }
+
+        static LineFunction possibleGameIds() {
+            GameScanner scanner = new GameScanner(Colours.standard());
+            return (line, start, end) -> {
+                scanner.scan(line, start, end);
+                return scanner.fitsWithin(MAX_RED, MAX_GREEN, MAX_BLUE) ? scanner.id : 0;
+            };
+        }
+
+        static long sumPossibleGameIds(GameTable games) {
+            long sum = 0;
+            for (int game = 0; game < games.games(); game++) {
+                if (isGamePossible(games, game)) {
+                    sum += games.id(game);
+                }
             }
+            return sum;
         }
 
-        private static boolean isGamePossible(Game game) {
-            final int maxRed = 12;
-            final int maxGreen = 13;
-            final int maxBlue = 14;
+        static boolean isGamePossible(GameTable games, int game) {
+            return isGamePossible(games, game, BAG);
+        }
 
-            return game.kubeSets().stream()
-                    .filter(kubeSet -> kubeSet.red() > maxRed || kubeSet.green() > maxGreen || kubeSet.blue() > maxBlue)
-                    .findFirst()
-                    .isEmpty();
+        static boolean isGamePossible(GameTable games, int game, Bag bag) {
+            for (int colour = 0; colour < games.colours().size(); colour++) {
+                if (games.max(colour, game) > bag.limit(colour)) {
+                    return false;
+                }
+            }
+            return true;
         }
     }
 
-    public static class Solution2 {
+    public static class Solution2 implements LineSumSolver {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(CubeConundrum.class, KUBE_GAMES)) {
-                Integer result = reader.lines()
-                        .map(CubeConundrum::createGame)
-                        .mapToInt(CubeConundrum.Solution2::calculateGamePower)
-                        .sum();
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
+            PART_2.run(args);
+        }
+
+        @Override
+        public LineFunction lineFunction() {
+            return gamePowers();
+        }
+
+        static LineFunction gamePowers() {
+            GameScanner scanner = new GameScanner(Colours.standard());
+            return (line, start, end) -> {
+                scanner.scan(line, start, end);
+                return scanner.power();
+            };
+        }
+
+        static long sumGamePowers(GameTable games) {
+            long sum = 0;
+            for (int game = 0; game < games.games(); game++) {
+                sum = Math.addExact(sum, calculateGamePower(games, game));
             }
+            return sum;
         }
 
-        private static int calculateGamePower(Game game) {
-            KubeSet firstKubeSet = game.kubeSets().get(0);
-            int maxRed = firstKubeSet.red();
-            int maxGreen = firstKubeSet.green();
-            int maxBlue = firstKubeSet.blue();
+        // the fewest cubes of red, green and blue like the line scanners, other colours play no part in the power
+        static long calculateGamePower(GameTable games, int game) {
+            long power = 1;
+            for (int colour = Colours.RED; colour <= Colours.BLUE; colour++) {
+                power = Math.multiplyExact(power, games.max(colour, game));
+            }
+            return power;
+        }
+    }
 
-            for (KubeSet kubeSet: game.kubeSets()) {
-                if (kubeSet.red() > maxRed) {
-                    maxRed = kubeSet.red();
-                }
-                if (kubeSet.green() > maxGreen) {
-                    maxGreen = kubeSet.green();
-                }
-                if (kubeSet.blue() > maxBlue) {
-                    maxBlue = kubeSet.blue();
+    public static class BothParts implements BothPartsLineSolver {
+        public static void main(String[] args) {
+            BOTH.run(args);
+        }
+
+        @Override
+        public Map<String, Object> parameters() {
+            return new Solution1().parameters();
+        }
+
+        @Override
+        public LineAccumulator lineAccumulator() {
+            GameScanner scanner = new GameScanner(Colours.standard());
+            return (line, start, end, sums) -> {
+                scanner.scan(line, start, end);
+                if (scanner.fitsWithin(Solution1.MAX_RED, Solution1.MAX_GREEN, Solution1.MAX_BLUE)) {
+                    sums[0] = Math.addExact(sums[0], scanner.id);
                 }
-            }
+                sums[1] = Math.addExact(sums[1], scanner.power());
+            };
+        }
+    }
+
+    public static class Table implements BothPartsSolver<GameTable, Long, Long> {
+        public static void main(String[] args) {
+            TABLE.run(args);
+        }
+
+        @Override
+        public Map<String, Object> parameters() {
+            return new Solution1().parameters();
+        }
+
+        @Override
+        public GameTable parse(InputSource input) throws IOException {
+            return readGames(input.bytes());
+        }
 
-            return maxRed * maxGreen * maxBlue;
+        @Override
+        public BothPartsSolver.Answers<Long, Long> solve(GameTable games) {
+            return BothPartsSolver.answers(Solution1.sumPossibleGameIds(games), Solution2.sumGamePowers(games));
         }
     }
 
-    private static Game createGame(String textValues) {
-        String[] gameTokens = textValues.split(":");
-        String gameToken = gameTokens[0].trim();
-        String kubeSetsToken = gameTokens[1].trim();
-
-        Integer gameId = Integer.parseInt(gameToken.replace("Game ", ""));
-        List<KubeSet> gameKubeSets = new LinkedList<>();
-        String[] splitKubeSetsTokens = kubeSetsToken.split(";");
-        for (String kubeSetToken: splitKubeSetsTokens) {
-            String[] colourTokens = kubeSetToken.trim().split(",");
-            Map<String, Integer> kubesCount = new HashMap<>(Map.of(
-                    RED, 0,
-                    GREEN, 0,
-                    BLUE, 0
-            ));
-            for (String colourToken: colourTokens) {
-                String[] splitColourTokens = colourToken.trim().split(" ");
-                String kubeColour = splitColourTokens[1];
-                int kubeAmounts = Integer.parseInt(splitColourTokens[0]);
-                kubesCount.put(kubeColour, kubeAmounts);
-            }
-            KubeSet kubeSet = new KubeSet(
-                    kubesCount.get(RED),
-                    kubesCount.get(GREEN),
-                    kubesCount.get(BLUE)
-            );
-            gameKubeSets.add(kubeSet);
-        }
-        return new Game(gameId, gameKubeSets);
+    static GameTable readGames(ByteBuffer input) {
+        return GameTable.read(input);
     }
 
-    public static record KubeSet(int red, int green, int blue) {}
+    // keeps only the game id and the largest amount of every colour, so a line is reduced without allocation
+    static class GameScanner {
+        private final AsciiTokenizer tokenizer = new AsciiTokenizer(ByteBuffer.allocate(0));
+        private final Colours colours;
+        private int[] maxima;
+        int id;
+
+        GameScanner(Colours colours) {
+            this.colours = colours;
+            this.maxima = new int[colours.size()];
+        }
+
+        void scan(ByteBuffer line, int start, int end) {
+            tokenizer.reset(line, start, end);
+            tokenizer.expect("Game");
+            id = tokenizer.nextInt();
+            tokenizer.expect(":");
+            Arrays.fill(maxima, 0);
+            do {
+                int kubeAmounts = tokenizer.nextInt();
+                int kubeColour = colours.index(tokenizer.nextKey());
+                if (kubeColour < 0) {
+                    throw new IllegalStateException("Unknown kube colour in game " + id);
+                }
+                if (kubeColour >= maxima.length) {
+                    maxima = Arrays.copyOf(maxima, colours.size());
+                }
+                maxima[kubeColour] = Math.max(maxima[kubeColour], kubeAmounts);
+            } while (tokenizer.skip(",") || tokenizer.skip(";"));
+        }
 
-    public static record Game(int id, List<KubeSet> kubeSets) {}
+        int max(int colour) {
+            return colour < maxima.length ? maxima[colour] : 0;
+        }
+
+        boolean fitsWithin(int red, int green, int blue) {
+            return maxima[Colours.RED] <= red && maxima[Colours.GREEN] <= green && maxima[Colours.BLUE] <= blue;
+        }
+
+        long power() {
+            return (long) maxima[Colours.RED] * maxima[Colours.GREEN] * maxima[Colours.BLUE];
+        }
+    }
 }
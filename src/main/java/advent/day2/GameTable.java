@@ -0,0 +1,68 @@
+package advent.day2;
+
+import advent.LineCursor;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// the largest amount of every colour per game in columns next to the game ids, which is all both parts
+// need of a game. Lines are reduced one by one as they are read, so no game or set is ever materialised.
+// A colour first seen in a later game gets a new column holding zeros for the games before it.
+public class GameTable {
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private final Colours colours = Colours.open();
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[][] maxima = new int[colours.size()][INITIAL_CAPACITY];
+    private int games;
+
+    public static GameTable read(ByteBuffer input) {
+        GameTable table = new GameTable();
+        CubeConundrum.GameScanner scanner = new CubeConundrum.GameScanner(table.colours);
+        LineCursor lines = new LineCursor(input);
+        while (lines.next()) {
+            if (lines.length() == 0) {
+                continue;
+            }
+            scanner.scan(input, lines.start(), lines.end());
+            table.add(scanner);
+        }
+        return table;
+    }
+
+    public Colours colours() {
+        return colours;
+    }
+
+    public int games() {
+        return games;
+    }
+
+    public int id(int game) {
+        return ids[game];
+    }
+
+    public int max(int colour, int game) {
+        return maxima[colour][game];
+    }
+
+    private void add(CubeConundrum.GameScanner scanner) {
+        if (games == ids.length) {
+            ids = Arrays.copyOf(ids, 2 * games);
+            for (int colour = 0; colour < maxima.length; colour++) {
+                maxima[colour] = Arrays.copyOf(maxima[colour], ids.length);
+            }
+        }
+        if (colours.size() > maxima.length) {
+            int known = maxima.length;
+            maxima = Arrays.copyOf(maxima, colours.size());
+            for (int colour = known; colour < maxima.length; colour++) {
+                maxima[colour] = new int[ids.length];
+            }
+        }
+        ids[games] = scanner.id;
+        for (int colour = 0; colour < maxima.length; colour++) {
+            maxima[colour][games] = scanner.max(colour);
+        }
+        games++;
+    }
+}
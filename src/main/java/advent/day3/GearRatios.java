@@ -1,192 +1,126 @@
 package advent.day3;
 
-import advent.ResourceUtils;
-import java.io.BufferedReader;
+import advent.BothPartsSolver;
+import advent.Grid;
+import advent.InputSource;
+import advent.Puzzle;
+import advent.Solver;
 import java.io.IOException;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Optional;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 public class GearRatios {
-    private static final Logger logger = Logger.getLogger(GearRatios.class.getName());
     private static final String ENGINE_SCHEMATIC = "day3/engine-schematic.txt";
+    static final byte EMPTY = '.';
+    static final byte GEAR = '*';
+
+    public static final Puzzle PART_1 = new Puzzle(3, 1, GearRatios.class, ENGINE_SCHEMATIC, Solution1::new);
+    public static final Puzzle PART_2 = new Puzzle(3, 2, GearRatios.class, ENGINE_SCHEMATIC, Solution2::new);
+    public static final Puzzle BOTH = new Puzzle(3, Puzzle.BOTH_PARTS, GearRatios.class, ENGINE_SCHEMATIC, BothParts::new);
+    // answers both parts like BOTH without holding the schematic in memory, for inputs too tall to parse
+    public static final Puzzle STREAMING = new Puzzle(3, Puzzle.BOTH_PARTS, GearRatios.class, ENGINE_SCHEMATIC, Streaming::new, "stream");
+    // answers both parts like BOTH from bands of rows solved on the common fork-join pool
+    public static final Puzzle PARALLEL = new Puzzle(3, Puzzle.BOTH_PARTS, GearRatios.class, ENGINE_SCHEMATIC, Parallel::new, "parallel");
+
+    public static class Solution1 implements Solver<NumberLabels, Integer> {
+        public static void main(String[] args) {
+            PART_1.run(args);
+        }
+
+        @Override
+        public NumberLabels parse(InputSource input) throws IOException {
+            return readSchematic(input.bytes());
+        }
+
+        @Override
+        public Integer solve(NumberLabels schematic) {
+            return calculateAdjacentNumbersSum(schematic);
+        }
+
+        static int calculateAdjacentNumbersSum(NumberLabels schematic) {
+            return schematic.partNumberSum();
+        }
+    }
 
-    public static class Solution1 {
+    public static class Solution2 implements Solver<NumberLabels, Integer> {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(GearRatios.class, ENGINE_SCHEMATIC)) {
-                List<String> schematicLines = reader.lines().collect(Collectors.toList());
-                char[][] schematic = buildSchematicMatrix(schematicLines);
-                int result = calculateAdjacentNumbersSum(schematic);
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_2.run(args);
         }
 
-        private static int calculateAdjacentNumbersSum(char[][] schematic) {
-            int sum = 0;
-
-            for (int i = 0; i < schematic.length; i++) {
-                for (int j = 0; j < schematic[i].length; j++) {
-                    char character = schematic[i][j];
-                    if (Character.isDigit(character)) {
-                        StringBuilder numericValue = new StringBuilder();
-                        boolean isAdjacent = false;
-                        for (int sequenceIndex = j; sequenceIndex < schematic[i].length; sequenceIndex++) {
-                            char digit = schematic[i][sequenceIndex];
-                            if (!Character.isDigit(digit)) {
-                                j = sequenceIndex;
-                                break;
-                            }
-                            numericValue.append(schematic[i][sequenceIndex]);
-                            isAdjacent = isAdjacent || isAdjacentToSymbol(i, sequenceIndex, schematic);
-                        }
-                        if (isAdjacent) {
-                            sum += Integer.parseInt(numericValue.toString());
-                        }
-                    }
-                }
-            }
+        @Override
+        public NumberLabels parse(InputSource input) throws IOException {
+            return readSchematic(input.bytes());
+        }
 
-            return sum;
+        @Override
+        public Integer solve(NumberLabels schematic) {
+            return gearRatioSum(schematic);
         }
 
-        private static boolean isAdjacentToSymbol(int i, int j, char[][] schematic) {
-            return List.of(
-                    charAt(i-1, j, schematic),
-                    charAt(i+1, j, schematic),
-                    charAt(i, j-1, schematic),
-                    charAt(i, j+1, schematic),
-                    charAt(i-1, j-1, schematic),
-                    charAt(i-1, j+1, schematic),
-                    charAt(i+1, j-1, schematic),
-                    charAt(i+1, j+1, schematic)
-            )
-                    .stream()
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .anyMatch(Solution1::isSymbol);
+        static int gearRatioSum(NumberLabels schematic) {
+            return schematic.gearRatioSum();
+        }
+    }
+
+    public static class BothParts implements BothPartsSolver<NumberLabels, Integer, Integer> {
+        public static void main(String[] args) {
+            BOTH.run(args);
         }
 
-        private static boolean isSymbol(char character) {
-            return character != ".".charAt(0) && !Character.isDigit(character);
+        @Override
+        public NumberLabels parse(InputSource input) throws IOException {
+            return readSchematic(input.bytes());
+        }
+
+        @Override
+        public BothPartsSolver.Answers<Integer, Integer> solve(NumberLabels schematic) {
+            return BothPartsSolver.answers(Solution1.calculateAdjacentNumbersSum(schematic), Solution2.gearRatioSum(schematic));
         }
     }
 
-    public static class Solution2 {
+    // parsing only defers the input, the rows are read and resolved while solving
+    public static class Streaming implements BothPartsSolver<InputSource, Long, Long> {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(GearRatios.class, ENGINE_SCHEMATIC)) {
-                List<String> schematicLines = reader.lines().collect(Collectors.toList());
-                char[][] schematic = buildSchematicMatrix(schematicLines);
-                int result = gearRatioSum(schematic);
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            STREAMING.run(args);
         }
 
-        private static int gearRatioSum(char[][] schematic) {
-            int sum = 0;
-            for (int i = 0; i < schematic.length; i++) {
-                for (int j = 0; j < schematic[i].length; j++) {
-                    if (schematic[i][j] != "*".charAt(0)) {
-                        continue;
-                    }
-                    List<Integer> adjacentNumbers = getAdjacentNumbers(i, j, schematic);
-                    if (adjacentNumbers.size() != 2) {
-                        continue;
-                    }
-                    sum += adjacentNumbers.get(0) * adjacentNumbers.get(1);
-                }
-            }
-            return sum;
-        }
-
-        private static List<Integer> getAdjacentNumbers(int i, int j, char[][] schematic) {
-            return List.of(
-                    new Point(i-1, j),
-                    new Point(i+1, j),
-                    new Point(i, j-1),
-                    new Point(i, j+1),
-                    new Point(i-1, j-1),
-                    new Point(i-1, j+1),
-                    new Point(i+1, j-1),
-                    new Point(i+1, j+1)
-            ).stream()
-                    .filter(point -> charAt(point.x(), point.y(), schematic)
-                            .map(Character::isDigit)
-                            .orElse(false))
-                    .map(point -> exploreNumber(point, schematic))
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .collect(Collectors.toList());
-        }
-
-        private static Optional<Integer> exploreNumber(Point point, char[][] schematic) {
-            char charAtPoint = schematic[point.x()][point.y()];
-            if (!Character.isDigit(charAtPoint)) {
-                return Optional.empty();
-            }
-            StringBuilder leftPart = digitsBefore(point, schematic);
-            StringBuilder rightPart = digitsAfter(point, schematic);
-            String resultingNumber = leftPart.append(rightPart).toString();
-            return Optional.of(Integer.parseInt(resultingNumber));
-        }
-
-        private static StringBuilder digitsBefore(Point point, char[][] schematic) {
-            StringBuilder digits = new StringBuilder();
-            LinkedList<Character> accumulator = new LinkedList<>();
-            for (int j = point.y() - 1; j >= 0; j--) {
-                char current = schematic[point.x()][j];
-                if (Character.isDigit(current)) {
-                    schematic[point.x()][j] = '.';
-                    accumulator.addFirst(current);
-                } else {
-                    break;
-                }
-            }
-            accumulator.forEach(digits::append);
-            return digits;
-        }
-
-        private static StringBuilder digitsAfter(Point point, char[][] schematic) {
-            StringBuilder digits = new StringBuilder();
-            for (int j = point.y(); j < schematic[point.x()].length; j++) {
-                char current = schematic[point.x()][j];
-                if (Character.isDigit(current)) {
-                    schematic[point.x()][j] = '.';
-                    digits.append(current);
-                } else {
-                    break;
-                }
+        @Override
+        public InputSource parse(InputSource input) {
+            return input;
+        }
+
+        @Override
+        public BothPartsSolver.Answers<Long, Long> solve(InputSource input) throws IOException {
+            try (InputStream stream = input.stream()) {
+                SchematicWindow window = SchematicWindow.read(stream);
+                return BothPartsSolver.answers(window.partNumberSum(), window.gearRatioSum());
             }
-            return digits;
         }
     }
 
-    private static Optional<Character> charAt(int i, int j, char[][] schematic) {
-        if (i < 0 || i >= schematic.length) {
-            return Optional.empty();
+    public static class Parallel implements BothPartsSolver<Grid, Long, Long> {
+        public static void main(String[] args) {
+            PARALLEL.run(args);
         }
-        if (j < 0 || j >= schematic[i].length) {
-            return Optional.empty();
+
+        @Override
+        public Grid parse(InputSource input) throws IOException {
+            return buildSchematicMatrix(input.bytes());
         }
-        return Optional.of(schematic[i][j]);
-    }
 
-    private static char[][] buildSchematicMatrix(List<String> schematicLines) {
-        char[][] matrix =  new char[schematicLines.size()][schematicLines.get(0).length()];
-        for (int i = 0; i < schematicLines.size(); i++) {
-            String line = schematicLines.get(i);
-            for (int j = 0; j < line.length(); j++) {
-                matrix[i][j] = line.charAt(j);
-            }
+        @Override
+        public BothPartsSolver.Answers<Long, Long> solve(Grid schematic) {
+            long[] sums = SchematicBands.sums(schematic);
+            return BothPartsSolver.answers(sums[0], sums[1]);
         }
-        return matrix;
     }
 
-    public static record Point(int x, int y) {}
+    static NumberLabels readSchematic(ByteBuffer input) {
+        return NumberLabels.label(buildSchematicMatrix(input));
+    }
+
+    // cells outside the schematic read as empty space
+    public static Grid buildSchematicMatrix(ByteBuffer input) {
+        return Grid.parse(input, EMPTY);
+    }
 }
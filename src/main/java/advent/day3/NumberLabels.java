@@ -0,0 +1,144 @@
+package advent.day3;
+
+import advent.Grid;
+import java.util.Arrays;
+
+// labels every cell of a number run with the id of its number, in one pass over the schematic that also
+// reads the value of each number and whether a symbol touches it. Labels use the layout of the grid,
+// padding included, so the neighbours of any cell can be looked up without bounds checks; label 0 marks
+// cells outside every number and number n has label n + 1. Neither the schematic nor the labels change
+// after labelling, so one labelling can be shared by any number of readers.
+public class NumberLabels {
+    private static final int INITIAL_NUMBERS = 1 << 10;
+
+    private final Grid schematic;
+    private final int[] labels;
+    private int[] values = new int[INITIAL_NUMBERS];
+    private boolean[] parts = new boolean[INITIAL_NUMBERS];
+    private int numbers;
+
+    private NumberLabels(Grid schematic) {
+        this.schematic = schematic;
+        this.labels = new int[schematic.stride() * (schematic.height() + 2)];
+    }
+
+    public static NumberLabels label(Grid schematic) {
+        NumberLabels numberLabels = new NumberLabels(schematic);
+        for (int row = 0; row < schematic.height(); row++) {
+            int rowStart = schematic.index(row, 0);
+            for (int index = rowStart; index < rowStart + schematic.width(); index++) {
+                if (isDigit(schematic.get(index))) {
+                    // the padding after the last column ends every number
+                    index = numberLabels.labelNumber(index) - 1;
+                }
+            }
+        }
+        return numberLabels;
+    }
+
+    public Grid schematic() {
+        return schematic;
+    }
+
+    public int numbers() {
+        return numbers;
+    }
+
+    // the number covering the cell, -1 if there is none
+    public int number(int index) {
+        return labels[index] - 1;
+    }
+
+    public int value(int number) {
+        return values[number];
+    }
+
+    public boolean isPart(int number) {
+        return parts[number];
+    }
+
+    public int partNumberSum() {
+        int sum = 0;
+        for (int number = 0; number < numbers; number++) {
+            if (parts[number]) {
+                sum += values[number];
+            }
+        }
+        return sum;
+    }
+
+    public int gearRatioSum() {
+        int sum = 0;
+        for (int row = 0; row < schematic.height(); row++) {
+            int rowStart = schematic.index(row, 0);
+            for (int index = rowStart; index < rowStart + schematic.width(); index++) {
+                if (isGear(schematic.get(index))) {
+                    sum += gearRatio(index);
+                }
+            }
+        }
+        return sum;
+    }
+
+    // the product of the two numbers next to the gear, 0 unless exactly two distinct numbers touch it
+    public int gearRatio(int index) {
+        int first = 0;
+        int second = 0;
+        int adjacentNumbers = 0;
+        for (int neighbour = 0; neighbour < schematic.neighbours(); neighbour++) {
+            int label = labels[index + schematic.neighbourOffset(neighbour)];
+            if (label == 0 || label == first || label == second) {
+                continue;
+            }
+            adjacentNumbers++;
+            if (first == 0) {
+                first = label;
+            } else if (second == 0) {
+                second = label;
+            }
+        }
+        return adjacentNumbers == 2 ? values[first - 1] * values[second - 1] : 0;
+    }
+
+    // returns the index after the number
+    private int labelNumber(int start) {
+        if (numbers == values.length) {
+            values = Arrays.copyOf(values, 2 * numbers);
+            parts = Arrays.copyOf(parts, 2 * numbers);
+        }
+        int label = numbers + 1;
+        int value = 0;
+        boolean isPart = false;
+        int index = start;
+        for (; isDigit(schematic.get(index)); index++) {
+            labels[index] = label;
+            value = value * 10 + schematic.get(index) - '0';
+            isPart = isPart || isAdjacentToSymbol(index);
+        }
+        values[numbers] = value;
+        parts[numbers] = isPart;
+        numbers++;
+        return index;
+    }
+
+    private boolean isAdjacentToSymbol(int index) {
+        for (int neighbour = 0; neighbour < schematic.neighbours(); neighbour++) {
+            if (isSymbol(schematic.get(index + schematic.neighbourOffset(neighbour)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isDigit(byte character) {
+        return character >= '0' && character <= '9';
+    }
+
+    static boolean isSymbol(byte character) {
+        return character != GearRatios.EMPTY && !isDigit(character);
+    }
+
+    static boolean isGear(byte character) {
+        return character == GearRatios.GEAR;
+    }
+}
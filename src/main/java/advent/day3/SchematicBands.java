@@ -0,0 +1,140 @@
+package advent.day3;
+
+import advent.Grid;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// sums part numbers and gear ratios of horizontal bands of rows on a fork-join pool. Every number and every
+// gear belongs to the band holding its row, as numbers never span rows, and a band reads one row above and
+// below itself as a halo for their neighbours. Halo rows are only read, so each number and gear is counted
+// by exactly one band and the band sums add up to the sums of the whole schematic. The grid is never
+// written, numbers next to a gear are read in place from their first digit.
+public class SchematicBands {
+    private static final int MIN_BAND_ROWS = 64;
+
+    public static long[] sums(Grid schematic) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return sums(schematic, pool, bandRows(schematic.height(), pool));
+    }
+
+    // part number sum first, then gear ratio sum
+    public static long[] sums(Grid schematic, ForkJoinPool pool, int bandRows) {
+        if (bandRows < 1) {
+            throw new IllegalArgumentException("Bands need at least one row: " + bandRows);
+        }
+        return pool.invoke(new BandTask(schematic, 0, schematic.height(), bandRows));
+    }
+
+    // a few bands per worker even out bands that are denser than others
+    public static int bandRows(int height, ForkJoinPool pool) {
+        return Math.max(MIN_BAND_ROWS, height / (4 * pool.getParallelism()) + 1);
+    }
+
+    static long[] sumBand(Grid schematic, int fromRow, int toRow) {
+        long partNumberSum = 0;
+        long gearRatioSum = 0;
+        for (int row = fromRow; row < toRow; row++) {
+            int rowStart = schematic.index(row, 0);
+            for (int index = rowStart; index < rowStart + schematic.width(); index++) {
+                byte character = schematic.get(index);
+                if (NumberLabels.isDigit(character)) {
+                    int end = index;
+                    int value = 0;
+                    // the padding after the last column ends every number
+                    for (; NumberLabels.isDigit(schematic.get(end)); end++) {
+                        value = value * 10 + schematic.get(end) - '0';
+                    }
+                    if (touchesSymbol(schematic, index, end)) {
+                        partNumberSum = Math.addExact(partNumberSum, value);
+                    }
+                    index = end - 1;
+                } else if (NumberLabels.isGear(character)) {
+                    gearRatioSum = Math.addExact(gearRatioSum, gearRatio(schematic, index));
+                }
+            }
+        }
+        return new long[] {partNumberSum, gearRatioSum};
+    }
+
+    private static boolean touchesSymbol(Grid schematic, int start, int end) {
+        int stride = schematic.stride();
+        if (NumberLabels.isSymbol(schematic.get(start - 1)) || NumberLabels.isSymbol(schematic.get(end))) {
+            return true;
+        }
+        for (int index = start - 1; index <= end; index++) {
+            if (NumberLabels.isSymbol(schematic.get(index - stride)) || NumberLabels.isSymbol(schematic.get(index + stride))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // a digit straight above or below the gear joins the cells beside it into one number, otherwise the
+    // diagonal cells belong to separate numbers
+    private static long gearRatio(Grid schematic, int gear) {
+        long ratio = 1;
+        int adjacentNumbers = 0;
+        for (int side = -1; side <= 1; side += 2) {
+            if (NumberLabels.isDigit(schematic.get(gear + side))) {
+                adjacentNumbers++;
+                ratio *= numberAt(schematic, gear + side);
+            }
+            int centre = gear + side * schematic.stride();
+            if (NumberLabels.isDigit(schematic.get(centre))) {
+                adjacentNumbers++;
+                ratio *= numberAt(schematic, centre);
+                continue;
+            }
+            for (int diagonal = centre - 1; diagonal <= centre + 1; diagonal += 2) {
+                if (NumberLabels.isDigit(schematic.get(diagonal))) {
+                    adjacentNumbers++;
+                    ratio *= numberAt(schematic, diagonal);
+                }
+            }
+        }
+        return adjacentNumbers == 2 ? ratio : 0;
+    }
+
+    private static int numberAt(Grid schematic, int index) {
+        int start = index;
+        while (NumberLabels.isDigit(schematic.get(start - 1))) {
+            start--;
+        }
+        int value = 0;
+        for (int digit = start; NumberLabels.isDigit(schematic.get(digit)); digit++) {
+            value = value * 10 + schematic.get(digit) - '0';
+        }
+        return value;
+    }
+
+    @SuppressWarnings("serial")
+    private static class BandTask extends RecursiveTask<long[]> {
+        private final Grid schematic;
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+
+        BandTask(Grid schematic, int fromRow, int toRow, int bandRows) {
+            this.schematic = schematic;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (toRow - fromRow <= bandRows) {
+                return sumBand(schematic, fromRow, toRow);
+            }
+            int middle = (fromRow + toRow) >>> 1;
+            BandTask upper = new BandTask(schematic, fromRow, middle, bandRows);
+            BandTask lower = new BandTask(schematic, middle, toRow, bandRows);
+            upper.fork();
+            long[] sums = lower.compute();
+            long[] upperSums = upper.join();
+            sums[0] = Math.addExact(sums[0], upperSums[0]);
+            sums[1] = Math.addExact(sums[1], upperSums[1]);
+            return sums;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package advent.day3;
+
+import advent.Grid;
+import java.util.Arrays;
+
+// answers neighbourhood questions about one schematic without scanning or changing it: the number spans of
+// every row are kept sorted by column, as are the symbol positions of every row, all in flat arrays indexed
+// through the first entry of each row. A lookup binary searches the few rows it touches and visits only
+// the spans and symbols it returns. Numbers and symbols are identified by their position in these arrays,
+// which is row by row and left to right. The index is immutable once built, so any number of threads can
+// query it at once.
+public class SchematicIndex {
+    // a cell touches at most six numbers
+    private static final int FOUND_CAPACITY = 8;
+
+    private final int height;
+    private final int[] numberRows;
+    private final int[] numberStarts;
+    private final int[] numberEnds;
+    private final int[] values;
+    private final int[] symbolRows;
+    private final int[] symbolColumns;
+    private final byte[] symbols;
+
+    private SchematicIndex(int height, int[] numberRows, int[] numberStarts, int[] numberEnds, int[] values,
+                           int[] symbolRows, int[] symbolColumns, byte[] symbols) {
+        this.height = height;
+        this.numberRows = numberRows;
+        this.numberStarts = numberStarts;
+        this.numberEnds = numberEnds;
+        this.values = values;
+        this.symbolRows = symbolRows;
+        this.symbolColumns = symbolColumns;
+        this.symbols = symbols;
+    }
+
+    public static SchematicIndex build(Grid schematic) {
+        int numbers = 0;
+        int symbolCount = 0;
+        for (int row = 0; row < schematic.height(); row++) {
+            for (int column = 0; column < schematic.width(); column++) {
+                byte character = schematic.get(row, column);
+                if (NumberLabels.isDigit(character) && !NumberLabels.isDigit(schematic.get(row, column - 1))) {
+                    numbers++;
+                } else if (NumberLabels.isSymbol(character)) {
+                    symbolCount++;
+                }
+            }
+        }
+        int[] numberRows = new int[schematic.height() + 1];
+        int[] numberStarts = new int[numbers];
+        int[] numberEnds = new int[numbers];
+        int[] values = new int[numbers];
+        int[] symbolRows = new int[schematic.height() + 1];
+        int[] symbolColumns = new int[symbolCount];
+        byte[] symbols = new byte[symbolCount];
+        int number = 0;
+        int symbol = 0;
+        for (int row = 0; row < schematic.height(); row++) {
+            numberRows[row] = number;
+            symbolRows[row] = symbol;
+            for (int column = 0; column < schematic.width(); column++) {
+                byte character = schematic.get(row, column);
+                if (NumberLabels.isDigit(character)) {
+                    numberStarts[number] = column;
+                    int value = 0;
+                    // the padding after the last column ends every number
+                    for (; NumberLabels.isDigit(schematic.get(row, column)); column++) {
+                        value = value * 10 + schematic.get(row, column) - '0';
+                    }
+                    numberEnds[number] = column;
+                    values[number++] = value;
+                    column--;
+                } else if (NumberLabels.isSymbol(character)) {
+                    symbolColumns[symbol] = column;
+                    symbols[symbol++] = character;
+                }
+            }
+        }
+        numberRows[schematic.height()] = number;
+        symbolRows[schematic.height()] = symbol;
+        return new SchematicIndex(schematic.height(), numberRows, numberStarts, numberEnds, values,
+                symbolRows, symbolColumns, symbols);
+    }
+
+    public int numbers() {
+        return values.length;
+    }
+
+    public int row(int number) {
+        return rowOf(numberRows, number);
+    }
+
+    public int start(int number) {
+        return numberStarts[number];
+    }
+
+    // the column after the last digit
+    public int end(int number) {
+        return numberEnds[number];
+    }
+
+    public int value(int number) {
+        return values[number];
+    }
+
+    public int symbols() {
+        return symbols.length;
+    }
+
+    public int symbolRow(int symbol) {
+        return rowOf(symbolRows, symbol);
+    }
+
+    public int symbolColumn(int symbol) {
+        return symbolColumns[symbol];
+    }
+
+    public byte symbol(int symbol) {
+        return symbols[symbol];
+    }
+
+    // the number covering the cell, -1 if there is none
+    public int numberAt(int row, int column) {
+        if (row < 0 || row >= height) {
+            return -1;
+        }
+        int number = firstNumberEndingAfter(row, column);
+        return number < numberRows[row + 1] && numberStarts[number] <= column ? number : -1;
+    }
+
+    // numbers covering the cell or any of its eight neighbours
+    public int[] numbersTouching(int row, int column) {
+        return numbersIn(row - 1, column - 1, row + 1, column + 1);
+    }
+
+    // numbers with at least one digit inside the region, both corners included
+    public int[] numbersIn(int fromRow, int fromColumn, int toRow, int toColumn) {
+        int[] found = new int[FOUND_CAPACITY];
+        int count = 0;
+        for (int row = Math.max(fromRow, 0); row <= Math.min(toRow, height - 1); row++) {
+            int number = firstNumberEndingAfter(row, fromColumn);
+            for (; number < numberRows[row + 1] && numberStarts[number] <= toColumn; number++) {
+                found = add(found, count++, number);
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    // symbols inside the region, both corners included
+    public int[] symbolsIn(int fromRow, int fromColumn, int toRow, int toColumn) {
+        int[] found = new int[FOUND_CAPACITY];
+        int count = 0;
+        for (int row = Math.max(fromRow, 0); row <= Math.min(toRow, height - 1); row++) {
+            int symbol = firstSymbolFrom(row, fromColumn);
+            for (; symbol < symbolRows[row + 1] && symbolColumns[symbol] <= toColumn; symbol++) {
+                found = add(found, count++, symbol);
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    // symbols on any of the cells around the number
+    public int[] symbolsNear(int number) {
+        int row = row(number);
+        return symbolsIn(row - 1, numberStarts[number] - 1, row + 1, numberEnds[number]);
+    }
+
+    public int[] gearsTouching(int number) {
+        return Arrays.stream(symbolsNear(number))
+                .filter(symbol -> NumberLabels.isGear(symbols[symbol]))
+                .toArray();
+    }
+
+    public boolean isPart(int number) {
+        int row = row(number);
+        for (int near = Math.max(row - 1, 0); near <= Math.min(row + 1, height - 1); near++) {
+            int symbol = firstSymbolFrom(near, numberStarts[number] - 1);
+            if (symbol < symbolRows[near + 1] && symbolColumns[symbol] <= numberEnds[number]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] add(int[] found, int count, int entry) {
+        if (count == found.length) {
+            found = Arrays.copyOf(found, 2 * count);
+        }
+        found[count] = entry;
+        return found;
+    }
+
+    // the spans of a row do not overlap, so their ends are sorted like their starts
+    private int firstNumberEndingAfter(int row, int column) {
+        int low = numberRows[row];
+        int high = numberRows[row + 1];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (numberEnds[middle] <= column) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstSymbolFrom(int row, int column) {
+        int low = symbolRows[row];
+        int high = symbolRows[row + 1];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (symbolColumns[middle] < column) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // the last row whose first entry is not after the entry, rows without entries share their first entry
+    private static int rowOf(int[] firstEntries, int entry) {
+        int low = 0;
+        int high = firstEntries.length - 2;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (firstEntries[middle] <= entry) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,222 @@
+package advent.day3;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// sums part numbers and gear ratios of a schematic fed row by row, keeping only the rows above and below the
+// row being resolved: a row is resolved when the one after it arrives, as adjacency never reaches further.
+// Memory depends on the width of the schematic only, however tall it is. Every row is padded with empty
+// cells on both sides and up to the widest row seen so far, and each of its cells that belongs to a number
+// holds the index the number starts at, which also tells numbers of the same gear apart.
+public class SchematicWindow {
+    private static final int BLOCK_SIZE = 64 << 10;
+    private static final int INITIAL_WIDTH = 1 << 8;
+
+    private Row previous;
+    private Row current;
+    private Row next;
+    private boolean started;
+    private long partNumberSum;
+    private long gearRatioSum;
+
+    public SchematicWindow() {
+        this.previous = new Row(INITIAL_WIDTH);
+        this.current = new Row(INITIAL_WIDTH);
+        this.next = new Row(INITIAL_WIDTH);
+    }
+
+    // reads the stream in blocks and resolves rows as they complete, lines of any length are supported
+    public static SchematicWindow read(InputStream input) throws IOException {
+        SchematicWindow window = new SchematicWindow();
+        byte[] block = new byte[BLOCK_SIZE];
+        byte[] line = new byte[INITIAL_WIDTH];
+        int length = 0;
+        int read;
+        while ((read = input.read(block)) >= 0) {
+            int lineStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (block[i] != '\n') {
+                    continue;
+                }
+                if (length == 0) {
+                    window.accept(block, lineStart, i);
+                } else {
+                    line = append(line, length, block, lineStart, i);
+                    window.accept(line, 0, length + i - lineStart);
+                    length = 0;
+                }
+                lineStart = i + 1;
+            }
+            // a line running past the block is carried over to the next one
+            line = append(line, length, block, lineStart, read);
+            length += read - lineStart;
+        }
+        window.accept(line, 0, length);
+        window.finish();
+        return window;
+    }
+
+    private static byte[] append(byte[] line, int length, byte[] block, int from, int to) {
+        if (length + to - from > line.length) {
+            line = Arrays.copyOf(line, Math.max(2 * line.length, length + to - from));
+        }
+        System.arraycopy(block, from, line, length, to - from);
+        return line;
+    }
+
+    // empty lines are skipped like Grid.parse does, a trailing carriage return is dropped
+    public void accept(byte[] line, int start, int end) {
+        if (end > start && line[end - 1] == '\r') {
+            end--;
+        }
+        if (end == start) {
+            return;
+        }
+        int width = end - start;
+        if (width > next.width()) {
+            previous.widen(width);
+            current.widen(width);
+            next.widen(width);
+        }
+        next.fill(line, start, end);
+        if (started) {
+            resolveCurrent();
+        }
+        started = true;
+        shift();
+    }
+
+    // resolves the last row against empty space below it, the window is empty afterwards
+    public void finish() {
+        next.clear();
+        if (started) {
+            resolveCurrent();
+        }
+        started = false;
+        shift();
+        previous.clear();
+        current.clear();
+    }
+
+    public long partNumberSum() {
+        return partNumberSum;
+    }
+
+    public long gearRatioSum() {
+        return gearRatioSum;
+    }
+
+    private void shift() {
+        Row resolved = previous;
+        previous = current;
+        current = next;
+        next = resolved;
+    }
+
+    private void resolveCurrent() {
+        byte[] cells = current.cells;
+        for (int index = 1; index < cells.length - 1; index++) {
+            byte character = cells[index];
+            if (NumberLabels.isDigit(character) && current.starts[index] == index) {
+                int end = index;
+                while (NumberLabels.isDigit(cells[end])) {
+                    end++;
+                }
+                if (touchesSymbol(index - 1, end)) {
+                    partNumberSum = Math.addExact(partNumberSum, current.values[index]);
+                }
+                index = end - 1;
+            } else if (NumberLabels.isGear(character)) {
+                gearRatioSum = Math.addExact(gearRatioSum, gearRatio(index));
+            }
+        }
+    }
+
+    private boolean touchesSymbol(int from, int to) {
+        return previous.hasSymbol(from, to) || current.hasSymbol(from, to) || next.hasSymbol(from, to);
+    }
+
+    // numbers are told apart by their row and the index they start at
+    private long gearRatio(int index) {
+        long first = -1;
+        long second = -1;
+        long ratio = 1;
+        int adjacentNumbers = 0;
+        for (int row = 0; row < 3; row++) {
+            Row cells = row == 0 ? previous : row == 1 ? current : next;
+            for (int column = index - 1; column <= index + 1; column++) {
+                int start = cells.starts[column];
+                long number = (long) row * cells.starts.length + start;
+                if (start == 0 || number == first || number == second) {
+                    continue;
+                }
+                adjacentNumbers++;
+                if (first < 0) {
+                    first = number;
+                } else if (second < 0) {
+                    second = number;
+                }
+                ratio *= cells.values[start];
+            }
+        }
+        return adjacentNumbers == 2 ? ratio : 0;
+    }
+
+    private static class Row {
+        private byte[] cells;
+        private int[] starts;
+        private int[] values;
+
+        Row(int width) {
+            cells = new byte[width + 2];
+            starts = new int[width + 2];
+            values = new int[width + 2];
+            clear();
+        }
+
+        int width() {
+            return cells.length - 2;
+        }
+
+        void widen(int width) {
+            int capacity = Math.max(width, 2 * width()) + 2;
+            int known = cells.length;
+            cells = Arrays.copyOf(cells, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            values = Arrays.copyOf(values, capacity);
+            Arrays.fill(cells, known, capacity, GearRatios.EMPTY);
+        }
+
+        void clear() {
+            Arrays.fill(cells, GearRatios.EMPTY);
+            Arrays.fill(starts, 0);
+        }
+
+        void fill(byte[] line, int start, int end) {
+            clear();
+            System.arraycopy(line, start, cells, 1, end - start);
+            for (int index = 1; index <= end - start; index++) {
+                if (!NumberLabels.isDigit(cells[index])) {
+                    continue;
+                }
+                int numberStart = index;
+                int value = 0;
+                for (; NumberLabels.isDigit(cells[index]); index++) {
+                    starts[index] = numberStart;
+                    value = value * 10 + cells[index] - '0';
+                }
+                values[numberStart] = value;
+            }
+        }
+
+        boolean hasSymbol(int from, int to) {
+            for (int index = from; index <= to; index++) {
+                if (NumberLabels.isSymbol(cells[index])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,39 +1,57 @@
 package advent.day4;
 
-import advent.ResourceUtils;
-import java.io.BufferedReader;
+import advent.AsciiTokenizer;
+import advent.BothPartsSolver;
+import advent.InputSource;
+import advent.LineCursor;
+import advent.LineFunction;
+import advent.LineSumSolver;
+import advent.Puzzle;
+import advent.Solver;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class Scratchcards {
-    private static final Logger logger = Logger.getLogger(Scratchcards.class.getName());
     private static final String CARDS = "day4/cards.txt";
 
-    public static class Solution1 {
+    public static final Puzzle PART_1 = new Puzzle(4, 1, Scratchcards.class, CARDS, Solution1::new);
+    public static final Puzzle PART_2 = new Puzzle(4, 2, Scratchcards.class, CARDS, Solution2::new);
+    public static final Puzzle BOTH = new Puzzle(4, Puzzle.BOTH_PARTS, Scratchcards.class, CARDS, BothParts::new);
+
+    public static class Solution1 implements LineSumSolver {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(Scratchcards.class, CARDS)) {
-                int result = reader.lines()
-                        .map(Scratchcards::toCard)
-                        .mapToInt(Solution1::score)
-                        .sum();
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
+            PART_1.run(args);
+        }
+
+        @Override
+        public LineFunction lineFunction() {
+            return scores();
+        }
+
+        static LineFunction scores() {
+            MatchCounter counter = new MatchCounter();
+            return (line, start, end) -> points(counter.countMatches(line, start, end));
+        }
+
+        // the points double with every match, so a long holds the score of up to 63 matches
+        static long points(int matches) {
+            if (matches > Long.SIZE - 1) {
+                throw new ArithmeticException("Score of " + matches + " matches overflows a long");
             }
+            return matches == 0 ? 0 : 1L << (matches - 1);
         }
 
-        private static int score(Card card) {
+        static int score(Card card) {
             long matches = card.countMatches();
             if (matches == 0) {
                 return 0;
@@ -42,20 +60,22 @@ public class Scratchcards {
         }
     }
 
-    public static class Solution2 {
+    public static class Solution2 implements Solver<List<Card>, Integer> {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(Scratchcards.class, CARDS)) {
-                LinkedList<Card> allCards = reader.lines()
-                        .map(Scratchcards::toCard)
-                        .collect(Collectors.toCollection(LinkedList::new));
-                int result = countWinningScratchcards(allCards);
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_2.run(args);
+        }
+
+        @Override
+        public List<Card> parse(InputSource input) throws IOException {
+            return readCards(input.bytes());
         }
 
-        private static int countWinningScratchcards(LinkedList<Card> cards) {
+        @Override
+        public Integer solve(List<Card> cards) {
+            return countWinningScratchcards(cards);
+        }
+
+        static int countWinningScratchcards(List<Card> cards) {
             Map<Integer, Card> cardById = cards.stream().collect(Collectors.toMap(Card::id, Function.identity()));
             int winningCards = 0;
 
@@ -67,9 +87,9 @@ public class Scratchcards {
             return winningCards;
         }
 
-        private static int countWinningScratchcards(Card card,
-                                                    Map<Integer, Card> cardById,
-                                                    Map<Integer, Integer> winningCardsMemo) {
+        static int countWinningScratchcards(Card card,
+                Map<Integer, Card> cardById,
+                Map<Integer, Integer> winningCardsMemo) {
             if (winningCardsMemo.containsKey(card.id())) {
                 return winningCardsMemo.get(card.id());
             }
@@ -85,29 +105,138 @@ public class Scratchcards {
         }
     }
 
-    private static Card toCard(String line) {
-        Objects.requireNonNull(line);
-        String[] lineTokens = line.split(":");
-        String cardToken = lineTokens[0].trim();
-        String numbersToken = lineTokens[1].trim();
-
-        Integer id = Integer.parseInt(cardToken.replaceAll("Card\s*", ""));
-
-        String[] splitNumbersToken = numbersToken.split("\\|");
-        String winningNumbersToken = splitNumbersToken[0].trim();
-        String actualNumbersToken = splitNumbersToken[1].trim();
-
-        Set<Integer> winningNumbers = Arrays.stream(winningNumbersToken.split("\s"))
-                .filter(value -> !value.isBlank())
-                .map(Integer::parseInt)
-                .collect(Collectors.toSet());
-        List<Integer> actualNumbers = Arrays.stream(actualNumbersToken.split("\s"))
-                .filter(value -> !value.isBlank())
-                .map(Integer::parseInt)
-                .collect(Collectors.toList());
+    // copies only flow to later cards, so one pass in card order counts them next to the scores;
+    // copies[i] holds the extra copies won for the card i lines ahead of the current one
+    public static class BothParts implements BothPartsSolver<InputSource, Long, Long> {
+        public static void main(String[] args) {
+            BOTH.run(args);
+        }
+
+        @Override
+        public InputSource parse(InputSource input) {
+            return input;
+        }
+
+        @Override
+        public BothPartsSolver.Answers<Long, Long> solve(InputSource input) throws IOException {
+            MatchCounter counter = new MatchCounter();
+            LineCursor lines = input.lines();
+            long[] copies = new long[16];
+            int current = 0;
+            long score = 0;
+            long cards = 0;
+            while (lines.next()) {
+                if (lines.length() == 0) {
+                    continue;
+                }
+                int matches = counter.countMatches(lines.buffer(), lines.start(), lines.end());
+                if (matches >= copies.length) {
+                    copies = ringWithCapacity(copies, current, matches + 1);
+                    current = 0;
+                }
+                long instances = copies[current] + 1;
+                copies[current] = 0;
+                current = (current + 1) % copies.length;
+                for (int i = 0; i < matches; i++) {
+                    int next = (current + i) % copies.length;
+                    copies[next] = Math.addExact(copies[next], instances);
+                }
+                score = Math.addExact(score, Solution1.points(matches));
+                cards = Math.addExact(cards, instances);
+            }
+            return BothPartsSolver.answers(score, cards);
+        }
+
+        private static long[] ringWithCapacity(long[] ring, int current, int capacity) {
+            long[] grown = new long[Math.max(capacity, ring.length * 2)];
+            for (int i = 0; i < ring.length; i++) {
+                grown[i] = ring[(current + i) % ring.length];
+            }
+            return grown;
+        }
+    }
+
+    static List<Card> readCards(ByteBuffer input) {
+        AsciiTokenizer tokenizer = new AsciiTokenizer(input);
+        List<Card> cards = new ArrayList<>();
+        tokenizer.skipWhitespace();
+        while (tokenizer.hasRemaining()) {
+            cards.add(toCard(tokenizer));
+            tokenizer.skipWhitespace();
+        }
+        return cards;
+    }
+
+    static Card toCard(AsciiTokenizer tokenizer) {
+        tokenizer.expect("Card");
+        Integer id = tokenizer.nextInt();
+        tokenizer.expect(":");
+
+        Set<Integer> winningNumbers = new HashSet<>();
+        while (tokenizer.hasNextNumber()) {
+            winningNumbers.add(tokenizer.nextInt());
+        }
+        tokenizer.expect("|");
+        List<Integer> actualNumbers = new ArrayList<>();
+        while (tokenizer.hasNextNumber()) {
+            actualNumbers.add(tokenizer.nextInt());
+        }
+        tokenizer.skipLine();
         return new Card(id, winningNumbers, actualNumbers);
     }
 
+    // winning numbers are marked with the current line generation, so the marks never have to be cleared;
+    // numbers past MAX_MARKED go to a set instead, so one huge number does not size the marks
+    static class MatchCounter {
+        static final int MAX_MARKED = 1 << 16;
+
+        private final AsciiTokenizer tokenizer = new AsciiTokenizer(ByteBuffer.allocate(0));
+        private final Set<Integer> largeNumbers = new HashSet<>();
+        private int[] marks = new int[100];
+        private int generation;
+
+        int countMatches(ByteBuffer line, int start, int end) {
+            tokenizer.reset(line, start, end);
+            tokenizer.expect("Card");
+            tokenizer.nextInt();
+            tokenizer.expect(":");
+
+            generation++;
+            if (!largeNumbers.isEmpty()) {
+                largeNumbers.clear();
+            }
+            while (tokenizer.hasNextNumber()) {
+                int number = nextNumber();
+                if (number >= MAX_MARKED) {
+                    largeNumbers.add(number);
+                    continue;
+                }
+                if (number >= marks.length) {
+                    marks = Arrays.copyOf(marks, Math.min(Math.max(number + 1, marks.length * 2), MAX_MARKED));
+                }
+                marks[number] = generation;
+            }
+            tokenizer.expect("|");
+            int matches = 0;
+            while (tokenizer.hasNextNumber()) {
+                int number = nextNumber();
+                if (number < marks.length ? marks[number] == generation : largeNumbers.contains(number)) {
+                    matches++;
+                }
+            }
+            return matches;
+        }
+
+        private int nextNumber() {
+            int start = tokenizer.position();
+            int number = tokenizer.nextInt();
+            if (number < 0) {
+                throw new IllegalStateException("Expected a card number of at least 0 at offset " + start);
+            }
+            return number;
+        }
+    }
+
     public static record Card (Integer id,
                                Set<Integer> winningNumbers,
                                List<Integer> numbers) {
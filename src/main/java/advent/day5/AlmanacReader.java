@@ -1,51 +1,106 @@
 package advent.day5;
 
+import advent.AsciiTokenizer;
+import advent.ChunkedLineProcessor;
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
 
 public class AlmanacReader {
 
-    public Almanac readAlmanac(List<String> inputFileLines) {
-        Objects.requireNonNull(inputFileLines);
-
-        List<Long> seeds = Arrays.stream(
-                inputFileLines.get(0)
-                        .replaceAll("seeds: ", "")
-                        .trim()
-                        .split(" "))
-                .map(Long::parseLong)
-                .collect(Collectors.toCollection(LinkedList::new));
-
-        LinkedList<List<Almanac.PropertyMappingRange>> transformationMaps = inputFileLines.stream()
-                .skip(2)
-                .collect(Collector.of(
-                        LinkedList::new,
-                        (collector, line) -> {
-                            if (line.isBlank()) {
-                                return;
-                            }
-                            if (line.contains("map")) {
-                                collector.add(new ArrayList<>());
-                                return;
-                            }
-                            collector.getLast().add(parseRange(line));
-
-                        },
-                        (collector1, collector2) -> {
-                            collector1.addAll(collector2);
-                            return collector1;
-                        }
-                ));
+    public Almanac readAlmanac(ByteBuffer input) {
+        return readAlmanac(input, ChunkedLineProcessor.chunkSize(input.remaining(), ForkJoinPool.commonPool()));
+    }
+
+    // maps are split into line-aligned chunks that are parsed in parallel and stitched together in order
+    public Almanac readAlmanac(ByteBuffer input, int chunkSize) {
+        Objects.requireNonNull(input);
+        ByteBuffer body = input.duplicate();
+        List<Long> seeds = readSeeds(body);
+        return new Almanac(seeds, stitch(ChunkedLineProcessor.slices(body, chunkSize).parallelStream()
+                .map(this::readSections)
+                .toList()));
+    }
+
+    public Almanac readAlmanacSequentially(ByteBuffer input) {
+        Objects.requireNonNull(input);
+        AsciiTokenizer tokenizer = new AsciiTokenizer(input);
+
+        tokenizer.expect("seeds:");
+        List<Long> seeds = new LinkedList<>();
+        while (tokenizer.hasNextNumber()) {
+            seeds.add(tokenizer.nextLong());
+        }
+
+        LinkedList<List<Almanac.PropertyMappingRange>> transformationMaps = new LinkedList<>();
+        tokenizer.skipWhitespace();
+        while (tokenizer.hasRemaining()) {
+            if (tokenizer.hasNextNumber()) {
+                transformationMaps.getLast().add(parseRange(tokenizer));
+            } else {
+                // map header, e.g. "seed-to-soil map:"
+                transformationMaps.add(new ArrayList<>());
+            }
+            tokenizer.skipLine();
+            tokenizer.skipWhitespace();
+        }
         return new Almanac(seeds, transformationMaps);
     }
 
-    private Almanac.PropertyMappingRange parseRange(String line) {
-        String[] splitTokens = line.trim().split(" ");
-        return new Almanac.PropertyMappingRange(
-                Long.parseLong(splitTokens[1]),
-                Long.parseLong(splitTokens[0]),
-                Long.parseLong(splitTokens[2])
-        );
+    // reads the seeds line and moves the buffer position past it
+    private List<Long> readSeeds(ByteBuffer input) {
+        AsciiTokenizer tokenizer = new AsciiTokenizer(input);
+        tokenizer.expect("seeds:");
+        List<Long> seeds = new LinkedList<>();
+        while (tokenizer.hasNextNumber()) {
+            seeds.add(tokenizer.nextLong());
+        }
+        tokenizer.skipLine();
+        input.position(tokenizer.position());
+        return seeds;
     }
+
+    // a chunk may start in the middle of a map, its ranges before the first header belong to the map
+    // that is open at the end of the previous chunk
+    private Sections readSections(ByteBuffer chunk) {
+        AsciiTokenizer tokenizer = new AsciiTokenizer(chunk);
+        List<Almanac.PropertyMappingRange> leading = new ArrayList<>();
+        List<List<Almanac.PropertyMappingRange>> started = new ArrayList<>();
+        tokenizer.skipWhitespace();
+        while (tokenizer.hasRemaining()) {
+            if (tokenizer.hasNextNumber()) {
+                (started.isEmpty() ? leading : started.get(started.size() - 1)).add(parseRange(tokenizer));
+            } else {
+                // map header, e.g. "seed-to-soil map:"
+                started.add(new ArrayList<>());
+            }
+            tokenizer.skipLine();
+            tokenizer.skipWhitespace();
+        }
+        return new Sections(leading, started);
+    }
+
+    private LinkedList<List<Almanac.PropertyMappingRange>> stitch(List<Sections> chunks) {
+        LinkedList<List<Almanac.PropertyMappingRange>> transformationMaps = new LinkedList<>();
+        for (Sections chunk: chunks) {
+            if (!chunk.leading().isEmpty()) {
+                if (transformationMaps.isEmpty()) {
+                    throw new IllegalStateException("Mapping range before the first map header");
+                }
+                transformationMaps.getLast().addAll(chunk.leading());
+            }
+            transformationMaps.addAll(chunk.started());
+        }
+        return transformationMaps;
+    }
+
+    private Almanac.PropertyMappingRange parseRange(AsciiTokenizer tokenizer) {
+        long destination = tokenizer.nextLong();
+        long source = tokenizer.nextLong();
+        long range = tokenizer.nextLong();
+        return new Almanac.PropertyMappingRange(source, destination, range);
+    }
+
+    private static record Sections(List<Almanac.PropertyMappingRange> leading,
+                                   List<List<Almanac.PropertyMappingRange>> started) {}
 }
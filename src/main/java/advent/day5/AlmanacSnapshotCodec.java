@@ -0,0 +1,60 @@
+package advent.day5;
+
+import advent.snapshot.SnapshotCodec;
+import advent.snapshot.SnapshotSections;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+// seeds as one long array, then every map as a long array of (source, destination, range) triples
+public class AlmanacSnapshotCodec implements SnapshotCodec<Almanac> {
+
+    @Override
+    public String id() {
+        return "day5.almanac";
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public void write(Almanac almanac, DataOutputStream output) throws IOException {
+        SnapshotSections.writeLongs(output, almanac.seeds().stream().mapToLong(Long::longValue).toArray());
+        output.writeInt(almanac.transformationMaps().size());
+        for (List<Almanac.PropertyMappingRange> transformationMap: almanac.transformationMaps()) {
+            long[] ranges = new long[transformationMap.size() * 3];
+            int i = 0;
+            for (Almanac.PropertyMappingRange range: transformationMap) {
+                ranges[i++] = range.source();
+                ranges[i++] = range.destination();
+                ranges[i++] = range.range();
+            }
+            SnapshotSections.writeLongs(output, ranges);
+        }
+    }
+
+    @Override
+    public Almanac read(ByteBuffer snapshot) {
+        long[] seedValues = SnapshotSections.readLongs(snapshot);
+        List<Long> seeds = new ArrayList<>(seedValues.length);
+        for (long seed: seedValues) {
+            seeds.add(seed);
+        }
+        int mapCount = snapshot.getInt();
+        LinkedList<List<Almanac.PropertyMappingRange>> transformationMaps = new LinkedList<>();
+        for (int map = 0; map < mapCount; map++) {
+            long[] ranges = SnapshotSections.readLongs(snapshot);
+            List<Almanac.PropertyMappingRange> transformationMap = new ArrayList<>(ranges.length / 3);
+            for (int i = 0; i < ranges.length; i += 3) {
+                transformationMap.add(new Almanac.PropertyMappingRange(ranges[i], ranges[i + 1], ranges[i + 2]));
+            }
+            transformationMaps.add(transformationMap);
+        }
+        return new Almanac(seeds, transformationMaps);
+    }
+}
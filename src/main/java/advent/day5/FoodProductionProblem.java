@@ -1,37 +1,48 @@
 package advent.day5;
 
-import advent.ResourceUtils;
-import java.io.BufferedReader;
+import advent.BothPartsSolver;
+import advent.InputSource;
+import advent.Puzzle;
+import advent.Solver;
+import advent.jfr.MilestoneEvent;
+import advent.snapshot.SnapshotCodec;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class FoodProductionProblem {
-    private static final Logger logger = Logger.getLogger(FoodProductionProblem.class.getName());
     private static final String ALMANAC = "day5/almanac.txt";
 
-    public static class Solution1 {
+    public static final Puzzle PART_1 = new Puzzle(5, 1, FoodProductionProblem.class, ALMANAC, Solution1::new);
+    public static final Puzzle PART_2 = new Puzzle(5, 2, FoodProductionProblem.class, ALMANAC, Solution2::new);
+    public static final Puzzle BOTH = new Puzzle(5, Puzzle.BOTH_PARTS, FoodProductionProblem.class, ALMANAC, BothParts::new);
+
+    public static class Solution1 implements Solver<Almanac, Long> {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(FoodProductionProblem.class, ALMANAC)) {
-                Almanac almanac = new AlmanacReader().readAlmanac(
-                        reader.lines().collect(Collectors.toCollection(LinkedList::new))
-                );
-                long result = almanac.seeds().stream()
-                        .mapToLong(seed -> seedToLocation(seed, almanac.transformationMaps()))
-                        .min()
-                        .orElse(-1);
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_1.run(args);
+        }
+
+        @Override
+        public Almanac parse(InputSource input) throws IOException {
+            return new AlmanacReader().readAlmanac(input.bytes());
+        }
+
+        @Override
+        public Optional<SnapshotCodec<Almanac>> snapshotCodec() {
+            return Optional.of(new AlmanacSnapshotCodec());
+        }
+
+        @Override
+        public Long solve(Almanac almanac) {
+            return almanac.seeds().stream()
+                    .mapToLong(seed -> seedToLocation(seed, almanac.transformationMaps()))
+                    .min()
+                    .orElse(-1);
         }
 
-        private static long seedToLocation(Long seed, LinkedList<List<Almanac.PropertyMappingRange>> transformationMaps) {
+        static long seedToLocation(Long seed, LinkedList<List<Almanac.PropertyMappingRange>> transformationMaps) {
             long propertyValue = seed;
 
             for (List<Almanac.PropertyMappingRange> transformationMap: transformationMaps) {
@@ -50,26 +61,56 @@ public class FoodProductionProblem {
         }
     }
 
-    public static class Solution2 {
+    public static class Solution2 implements Solver<Almanac, Long> {
+        // the puzzle that milestone events are recorded for, the both-parts solver runs this one too
+        private final String puzzle;
+
+        public Solution2() {
+            this(PART_2.id());
+        }
+
+        Solution2(String puzzle) {
+            this.puzzle = puzzle;
+        }
+
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(FoodProductionProblem.class, ALMANAC)) {
-                Almanac almanac = new AlmanacReader().readAlmanac(
-                        reader.lines().collect(Collectors.toCollection(LinkedList::new))
-                );
-                LinkedList<PropertyRange> seedRanges = toSeedRanges(almanac.seeds());
-                long result = lowestLocation(seedRanges, almanac.transformationMaps());
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_2.run(args);
         }
 
-        private static long lowestLocation(LinkedList<PropertyRange> seedRanges,
-                                           LinkedList<List<Almanac.PropertyMappingRange>> transformationMaps) {
+        @Override
+        public Almanac parse(InputSource input) throws IOException {
+            return new AlmanacReader().readAlmanac(input.bytes());
+        }
+
+        @Override
+        public Optional<SnapshotCodec<Almanac>> snapshotCodec() {
+            return Optional.of(new AlmanacSnapshotCodec());
+        }
+
+        @Override
+        public Long solve(Almanac almanac) {
+            LinkedList<PropertyRange> seedRanges = toSeedRanges(almanac.seeds());
+            return lowestLocation(puzzle, seedRanges, almanac.transformationMaps());
+        }
+
+        static long lowestLocation(String puzzle,
+                LinkedList<PropertyRange> seedRanges,
+                LinkedList<List<Almanac.PropertyMappingRange>> transformationMaps) {
             LinkedList<PropertyRange> currentRanges = seedRanges;
 
+            int mapIndex = 0;
             for (List<Almanac.PropertyMappingRange> transformationMap: transformationMaps) {
+                MilestoneEvent event = new MilestoneEvent();
+                event.begin();
                 currentRanges = transformRanges(currentRanges, transformationMap);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.puzzle = puzzle;
+                    event.name = "map " + mapIndex + " applied";
+                    event.value = currentRanges.size();
+                    event.commit();
+                }
+                mapIndex++;
             }
             return currentRanges.stream()
                     .mapToLong(PropertyRange::start)
@@ -145,7 +186,7 @@ public class FoodProductionProblem {
             return new IntersectionResult(null,  Collections.emptyList(), mapping);
         }
 
-        private static LinkedList<PropertyRange> toSeedRanges(List<Long> seedsInput) {
+        static LinkedList<PropertyRange> toSeedRanges(List<Long> seedsInput) {
             LinkedList<PropertyRange> seedRanges = new LinkedList<>();
             for (int i = 0; i < seedsInput.size(); i+=2) {
                 seedRanges.add(new PropertyRange(
@@ -168,4 +209,25 @@ public class FoodProductionProblem {
             }
         }
     }
+
+    public static class BothParts implements BothPartsSolver<Almanac, Long, Long> {
+        public static void main(String[] args) {
+            BOTH.run(args);
+        }
+
+        @Override
+        public Almanac parse(InputSource input) throws IOException {
+            return new AlmanacReader().readAlmanac(input.bytes());
+        }
+
+        @Override
+        public Optional<SnapshotCodec<Almanac>> snapshotCodec() {
+            return Optional.of(new AlmanacSnapshotCodec());
+        }
+
+        @Override
+        public BothPartsSolver.Answers<Long, Long> solve(Almanac almanac) {
+            return BothPartsSolver.answers(new Solution1().solve(almanac), new Solution2(BOTH.id()).solve(almanac));
+        }
+    }
 }
@@ -1,75 +1,131 @@
 package advent.day6;
 
-import advent.ResourceUtils;
-import java.io.BufferedReader;
+import advent.AsciiTokenizer;
+import advent.BothPartsSolver;
+import advent.InputSource;
+import advent.Puzzle;
+import advent.Solver;
 import java.io.IOException;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class WaitForIt {
-    private static final Logger logger = Logger.getLogger(WaitForIt.class.getName());
     private static final String RACE_DISTANCES = "day6/race-distances.txt";
 
-    public static class Solution1 {
+    public static final Puzzle PART_1 = new Puzzle(6, 1, WaitForIt.class, RACE_DISTANCES, Solution1::new);
+    public static final Puzzle PART_2 = new Puzzle(6, 2, WaitForIt.class, RACE_DISTANCES, Solution2::new);
+    public static final Puzzle BOTH = new Puzzle(6, Puzzle.BOTH_PARTS, WaitForIt.class, RACE_DISTANCES, BothParts::new);
+
+    public static class Solution1 implements Solver<List<RaceDistance>, Long> {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(WaitForIt.class, RACE_DISTANCES)) {
-                List<RaceDistance> raceDistances = parseDistances(reader.lines().collect(Collectors.toList()));
-                long result = raceDistances.stream()
-                        .mapToLong(RaceDistance::winOptions)
-                        .reduce(1L, (a, b) -> a * b);
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_1.run(args);
         }
 
-        private static List<RaceDistance> parseDistances(List<String> lines) {
-            List<Integer> time = Arrays.stream(lines.get(0)
-                    .replace("Time:", "")
-                    .trim()
-                    .split("\s+"))
-                    .map(Integer::parseInt)
-                    .collect(Collectors.toList());
-            List<Integer> distances = Arrays.stream(lines.get(1)
-                    .replace("Distance:", "")
-                    .trim()
-                    .split("\s+"))
-                    .map(Integer::parseInt)
-                    .collect(Collectors.toList());
+        @Override
+        public List<RaceDistance> parse(InputSource input) throws IOException {
+            return parseDistances(input.bytes());
+        }
+
+        @Override
+        public Long solve(List<RaceDistance> raceDistances) {
+            return raceDistances.stream()
+                    .mapToLong(RaceDistance::winOptions)
+                    .reduce(1L, (a, b) -> a * b);
+        }
+
+        static List<RaceDistance> parseDistances(ByteBuffer input) {
+            AsciiTokenizer tokenizer = new AsciiTokenizer(input);
+            tokenizer.expect("Time:");
+            List<Integer> time = new ArrayList<>();
+            while (tokenizer.hasNextNumber()) {
+                time.add(tokenizer.nextInt());
+            }
+            tokenizer.skipWhitespace();
+            tokenizer.expect("Distance:");
+            List<Integer> distances = new ArrayList<>();
+            while (tokenizer.hasNextNumber()) {
+                distances.add(tokenizer.nextInt());
+            }
             return IntStream.range(0, time.size())
                     .mapToObj(i -> new RaceDistance(time.get(i), distances.get(i)))
                     .collect(Collectors.toList());
         }
     }
 
-    public static class Solution2 {
+    public static class Solution2 implements Solver<RaceDistance, Long> {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(WaitForIt.class, RACE_DISTANCES)) {
-                RaceDistance raceDistance = parseDistance(reader.lines().collect(Collectors.toList()));
-                long result = raceDistance.winOptions();
-                logger.log(Level.INFO, "Result = {0}", result);
-            }  catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
+            PART_2.run(args);
+        }
+
+        @Override
+        public RaceDistance parse(InputSource input) throws IOException {
+            return parseDistance(input.bytes());
+        }
+
+        @Override
+        public Long solve(RaceDistance raceDistance) {
+            return raceDistance.winOptions();
+        }
+
+        static RaceDistance parseDistance(ByteBuffer input) {
+            AsciiTokenizer tokenizer = new AsciiTokenizer(input);
+            tokenizer.expect("Time:");
+            long time = nextKernedNumber(tokenizer);
+            tokenizer.skipWhitespace();
+            tokenizer.expect("Distance:");
+            long distance = nextKernedNumber(tokenizer);
+            return new RaceDistance(time, distance);
+        }
+
+        private static long nextKernedNumber(AsciiTokenizer tokenizer) {
+            // all digits of the line form one number, the spaces between them are bad kerning
+            long value = 0;
+            while (!tokenizer.atLineEnd()) {
+                byte character = tokenizer.next();
+                if (AsciiTokenizer.isDigit(character)) {
+                    value = Math.addExact(Math.multiplyExact(value, 10), character - '0');
+                }
             }
+            return value;
+        }
+    }
+
+    public static class BothParts implements BothPartsSolver<List<RaceDistance>, Long, Long> {
+        public static void main(String[] args) {
+            BOTH.run(args);
         }
 
-        private static RaceDistance parseDistance(List<String> lines) {
-            long time = Long.parseLong(
-                    lines.get(0)
-                            .replace("Time:", "")
-                            .trim()
-                            .replaceAll("\s*", ""));
-            long distance = Long.parseLong(
-                    lines.get(1)
-                            .replace("Distance:", "")
-                            .trim()
-                            .replaceAll("\s*", ""));
+        @Override
+        public List<RaceDistance> parse(InputSource input) throws IOException {
+            return Solution1.parseDistances(input.bytes());
+        }
+
+        @Override
+        public BothPartsSolver.Answers<Long, Long> solve(List<RaceDistance> raceDistances) {
+            return BothPartsSolver.answers(new Solution1().solve(raceDistances), kerned(raceDistances).winOptions());
+        }
+
+        // the single race of part 2 writes the digits of all races one after another
+        static RaceDistance kerned(List<RaceDistance> raceDistances) {
+            long time = 0;
+            long distance = 0;
+            for (RaceDistance raceDistance: raceDistances) {
+                time = append(time, raceDistance.time());
+                distance = append(distance, raceDistance.distance());
+            }
             return new RaceDistance(time, distance);
         }
+
+        private static long append(long value, long digits) {
+            long shift = 10;
+            while (shift <= digits) {
+                shift *= 10;
+            }
+            return Math.addExact(Math.multiplyExact(value, shift), digits);
+        }
     }
 
     public static record RaceDistance(long time, long distance) {
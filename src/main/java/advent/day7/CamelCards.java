@@ -1,41 +1,47 @@
 package advent.day7;
 
-import advent.ResourceUtils;
-import java.io.BufferedReader;
+import advent.AsciiTokenizer;
+import advent.BothPartsSolver;
+import advent.InputSource;
+import advent.Puzzle;
+import advent.Solver;
+import advent.snapshot.SnapshotCodec;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class CamelCards {
-    private static final Logger logger = Logger.getLogger(CamelCards.class.getName());
     private static final String HANDS = "day7/hands.txt";
 
-    public static class Solution1 {
+    public static final Puzzle PART_1 = new Puzzle(7, 1, CamelCards.class, HANDS, Solution1::new);
+    public static final Puzzle PART_2 = new Puzzle(7, 2, CamelCards.class, HANDS, Solution2::new);
+    public static final Puzzle BOTH = new Puzzle(7, Puzzle.BOTH_PARTS, CamelCards.class, HANDS, BothParts::new);
+
+    public static class Solution1 implements Solver<List<Hand>, Integer> {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(CamelCards.class, HANDS)) {
-                HandTypeProvider handTypeProvider = new RegularHandTypeProvider();
-                List<Hand> sortedHands = reader.lines()
-                        .map(line -> line.trim().split(" "))
-                        .map(textValues -> {
-                            String cards = textValues[0];
-                            int bid = Integer.parseInt(textValues[1]);
-                            return new Hand(cards, bid, handTypeProvider);
-                        })
-                        .sorted(new HandComparator(new CardComparator()))
-                        .collect(Collectors.toList());
-                int result = IntStream.range(0, sortedHands.size())
-                        .map(i -> sortedHands.get(i).getBid() * (i + 1))
-                        .sum();
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_1.run(args);
+        }
+
+        @Override
+        public List<Hand> parse(InputSource input) throws IOException {
+            return readHands(input.bytes(), new RegularHandTypeProvider());
+        }
+
+        @Override
+        public Optional<SnapshotCodec<List<Hand>>> snapshotCodec() {
+            return Optional.of(new HandsSnapshotCodec("regular"));
+        }
+
+        @Override
+        public Integer solve(List<Hand> hands) {
+            return totalWinnings(hands, new CardComparator());
         }
 
         public static class CardComparator implements Comparator<Card> {
@@ -76,28 +82,26 @@ public class CamelCards {
         }
     }
 
-    public static class Solution2 {
+    public static class Solution2 implements Solver<List<Hand>, Integer> {
         private static final char JOKER_CARD_SYMBOL = 'J';
 
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(CamelCards.class, HANDS)) {
-                HandTypeProvider handTypeProvider = new JokerHandTypeProvider();
-                List<Hand> sortedHands = reader.lines()
-                        .map(line -> line.trim().split(" "))
-                        .map(textValues -> {
-                            String cards = textValues[0];
-                            int bid = Integer.parseInt(textValues[1]);
-                            return new Hand(cards, bid, handTypeProvider);
-                        })
-                        .sorted(new HandComparator(new JokerCardComparator()))
-                        .collect(Collectors.toList());
-                int result = IntStream.range(0, sortedHands.size())
-                        .map(i -> sortedHands.get(i).getBid() * (i + 1))
-                        .sum();
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_2.run(args);
+        }
+
+        @Override
+        public List<Hand> parse(InputSource input) throws IOException {
+            return readHands(input.bytes(), new JokerHandTypeProvider());
+        }
+
+        @Override
+        public Optional<SnapshotCodec<List<Hand>>> snapshotCodec() {
+            return Optional.of(new HandsSnapshotCodec("joker"));
+        }
+
+        @Override
+        public Integer solve(List<Hand> hands) {
+            return totalWinnings(hands, new JokerCardComparator());
         }
 
         public static class JokerCardComparator implements Comparator<Card> {
@@ -154,4 +158,55 @@ public class CamelCards {
             }
         }
     }
+
+    // the hands are parsed once with the regular types, the joker types are derived from the same cards
+    public static class BothParts implements BothPartsSolver<List<Hand>, Integer, Integer> {
+        public static void main(String[] args) {
+            BOTH.run(args);
+        }
+
+        @Override
+        public List<Hand> parse(InputSource input) throws IOException {
+            return readHands(input.bytes(), new Solution1.RegularHandTypeProvider());
+        }
+
+        @Override
+        public Optional<SnapshotCodec<List<Hand>>> snapshotCodec() {
+            return Optional.of(new HandsSnapshotCodec("regular"));
+        }
+
+        @Override
+        public BothPartsSolver.Answers<Integer, Integer> solve(List<Hand> hands) {
+            HandTypeProvider jokerTypes = new Solution2.JokerHandTypeProvider();
+            List<Hand> jokerHands = hands.stream()
+                    .map(hand -> new Hand(hand.getCards(), jokerTypes.determineHandType(hand.getCards()), hand.getBid()))
+                    .toList();
+            return BothPartsSolver.answers(
+                    totalWinnings(hands, new Solution1.CardComparator()),
+                    totalWinnings(jokerHands, new Solution2.JokerCardComparator()));
+        }
+    }
+
+    static List<Hand> readHands(ByteBuffer input, HandTypeProvider handTypeProvider) {
+        AsciiTokenizer tokenizer = new AsciiTokenizer(input);
+        List<Hand> hands = new ArrayList<>();
+        tokenizer.skipWhitespace();
+        while (tokenizer.hasRemaining()) {
+            String cards = tokenizer.nextIdentifier();
+            int bid = tokenizer.nextInt();
+            hands.add(new Hand(cards, bid, handTypeProvider));
+            tokenizer.skipLine();
+            tokenizer.skipWhitespace();
+        }
+        return hands;
+    }
+
+    static int totalWinnings(List<Hand> hands, Comparator<Card> cardComparator) {
+        List<Hand> sortedHands = hands.stream()
+                .sorted(new HandComparator(cardComparator))
+                .collect(Collectors.toList());
+        return IntStream.range(0, sortedHands.size())
+                .map(i -> sortedHands.get(i).getBid() * (i + 1))
+                .sum();
+    }
 }
@@ -18,6 +18,12 @@ public class Hand {
         this.bid = bid;
     }
 
+    Hand(List<Card> cards, HandType handType, Integer bid) {
+        this.cards = cards;
+        this.handType = handType;
+        this.bid = bid;
+    }
+
     public List<Card> getCards() {
         return cards;
     }
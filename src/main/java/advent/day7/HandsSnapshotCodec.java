@@ -0,0 +1,73 @@
+package advent.day7;
+
+import advent.snapshot.SnapshotCodec;
+import advent.snapshot.SnapshotSections;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// card symbols of all hands back to back with the end offset of every hand, plus hand type ordinals and bids;
+// hand types depend on the part, so each part has its own codec id
+public class HandsSnapshotCodec implements SnapshotCodec<List<Hand>> {
+    private static final HandType[] HAND_TYPES = HandType.values();
+
+    private final String id;
+
+    public HandsSnapshotCodec(String variant) {
+        this.id = "day7.hands." + variant;
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public void write(List<Hand> hands, DataOutputStream output) throws IOException {
+        int symbolCount = hands.stream().mapToInt(hand -> hand.getCards().size()).sum();
+        byte[] symbols = new byte[symbolCount];
+        int[] ends = new int[hands.size()];
+        byte[] types = new byte[hands.size()];
+        int[] bids = new int[hands.size()];
+        int position = 0;
+        for (int i = 0; i < hands.size(); i++) {
+            Hand hand = hands.get(i);
+            for (Card card: hand.getCards()) {
+                symbols[position++] = (byte) card.getSymbol().charValue();
+            }
+            ends[i] = position;
+            types[i] = (byte) hand.getHandType().ordinal();
+            bids[i] = hand.getBid();
+        }
+        SnapshotSections.writeBytes(output, symbols);
+        SnapshotSections.writeInts(output, ends);
+        SnapshotSections.writeBytes(output, types);
+        SnapshotSections.writeInts(output, bids);
+    }
+
+    @Override
+    public List<Hand> read(ByteBuffer snapshot) {
+        byte[] symbols = SnapshotSections.readBytes(snapshot);
+        int[] ends = SnapshotSections.readInts(snapshot);
+        byte[] types = SnapshotSections.readBytes(snapshot);
+        int[] bids = SnapshotSections.readInts(snapshot);
+        List<Hand> hands = new ArrayList<>(ends.length);
+        int start = 0;
+        for (int i = 0; i < ends.length; i++) {
+            List<Card> cards = new ArrayList<>(ends[i] - start);
+            for (int j = start; j < ends[i]; j++) {
+                cards.add(new Card((char) symbols[j]));
+            }
+            hands.add(new Hand(cards, HAND_TYPES[types[i]], bids[i]));
+            start = ends[i];
+        }
+        return hands;
+    }
+}
@@ -1,40 +1,55 @@
 package advent.day8;
 
-import advent.ResourceUtils;
-import java.io.BufferedReader;
+import advent.AsciiTokenizer;
+import advent.ChunkedLineProcessor;
+import advent.InputSource;
+import advent.Puzzle;
+import advent.Solver;
+import advent.jfr.MilestoneEvent;
+import advent.snapshot.SnapshotCodec;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.AbstractMap.SimpleEntry;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.stream.Collector;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 public class HauntedWasteland {
-    private static final Logger logger = Logger.getLogger(HauntedWasteland.class.getName());
     private static final String MAP_1 = "day8/map-1.txt";
     private static final String MAP_2 = "day8/map-2.txt";
 
-    public static class Solution1 {
+    public static final Puzzle PART_1 = new Puzzle(8, 1, HauntedWasteland.class, MAP_1, Solution1::new);
+    public static final Puzzle PART_2 = new Puzzle(8, 2, HauntedWasteland.class, MAP_2, Solution2::new);
+
+    public static class Solution1 implements Solver<WastelandMap, Integer> {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(HauntedWasteland.class, MAP_1)) {
-                List<String> lines = reader.lines().toList();
-                List<Direction> directions = readDirections(lines.get(0));
-                Map<String, SimpleEntry<String, String>> navigations = readNavigations(lines);
-                int result = countSteps(directions, navigations);
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_1.run(args);
+        }
+
+        @Override
+        public WastelandMap parse(InputSource input) throws IOException {
+            return readMap(input.bytes());
         }
 
-        private static int countSteps(List<Direction> directions,
-                                      Map<String, SimpleEntry<String, String>> navigations) {
+        @Override
+        public Optional<SnapshotCodec<WastelandMap>> snapshotCodec() {
+            return Optional.of(new WastelandSnapshotCodec());
+        }
+
+        @Override
+        public Integer solve(WastelandMap map) {
+            return countSteps(map.directions(), map.navigations());
+        }
+
+        static int countSteps(List<Direction> directions,
+                Map<String, SimpleEntry<String, String>> navigations) {
             final String firstNode = "AAA";
             final String lastNode = "ZZZ";
 
@@ -53,27 +68,35 @@ public class HauntedWasteland {
         }
     }
 
-    public static class Solution2 {
+    public static class Solution2 implements Solver<WastelandMap, Long> {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(HauntedWasteland.class, MAP_2)) {
-                List<String> lines = reader.lines().toList();
-                List<Direction> directions = readDirections(lines.get(0));
-                Map<String, SimpleEntry<String, String>> navigations = readNavigations(lines);
-                long result = countSteps(directions, navigations);
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_2.run(args);
+        }
+
+        @Override
+        public WastelandMap parse(InputSource input) throws IOException {
+            return readMap(input.bytes());
         }
 
-        private static long countSteps(List<Direction> directions,
-                                      Map<String, SimpleEntry<String, String>> navigations) {
+        @Override
+        public Optional<SnapshotCodec<WastelandMap>> snapshotCodec() {
+            return Optional.of(new WastelandSnapshotCodec());
+        }
+
+        @Override
+        public Long solve(WastelandMap map) {
+            return countSteps(PART_2.id(), map.directions(), map.navigations());
+        }
+
+        static long countSteps(String puzzle,
+                List<Direction> directions,
+                Map<String, SimpleEntry<String, String>> navigations) {
             List<String> startingNodes = navigations.keySet().stream()
                     .filter(node -> node.endsWith("A"))
                     .collect(Collectors.toList());
 
             List<Long> stepsPerNode = startingNodes.stream()
-                    .map(node -> countStepsForNode(node, directions, navigations))
+                    .map(node -> trackedStepsForNode(puzzle, node, directions, navigations))
                     .collect(Collectors.toList());
             return leastCommonMultiple(stepsPerNode);
         }
@@ -97,6 +120,23 @@ public class HauntedWasteland {
             return greatestCommonDivisor(b, a % b);
         }
 
+        private static long trackedStepsForNode(String puzzle,
+                                                String node,
+                                                List<Direction> directions,
+                                                Map<String, SimpleEntry<String, String>> navigations) {
+            MilestoneEvent event = new MilestoneEvent();
+            event.begin();
+            long steps = countStepsForNode(node, directions, navigations);
+            event.end();
+            if (event.shouldCommit()) {
+                event.puzzle = puzzle;
+                event.name = "ghost " + node + " finished";
+                event.value = steps;
+                event.commit();
+            }
+            return steps;
+        }
+
         private static long countStepsForNode(String node,
                                                  List<Direction> directions,
                                                  Map<String, SimpleEntry<String, String>> navigations) {
@@ -113,38 +153,64 @@ public class HauntedWasteland {
         }
     }
 
-    private static HashMap<String, SimpleEntry<String, String>> readNavigations(List<String> lines) {
-        return lines.stream()
-                .skip(2)
-                .collect(Collector.of(
-                        HashMap::new,
-                        (map, line) -> {
-                            String[] tokens = line.split(" = ");
-                            String node = tokens[0];
-                            String[] leftAndRightTokens = tokens[1]
-                                    .replaceAll("[)(]", "")
-                                    .split(", ");
-                            String left = leftAndRightTokens[0];
-                            String right = leftAndRightTokens[1];
-                            map.put(node, new SimpleEntry<>(left, right));
-                        },
-                        (map1, map2) -> {
-                            map1.putAll(map2);
-                            return map1;
-                        }
-                ));
+    static WastelandMap readMap(ByteBuffer input) {
+        return readMap(input, ChunkedLineProcessor.chunkSize(input.remaining(), ForkJoinPool.commonPool()));
+    }
+
+    // node lines do not depend on each other, so line-aligned chunks fill one concurrent node table in parallel
+    public static WastelandMap readMap(ByteBuffer input, int chunkSize) {
+        ByteBuffer body = input.duplicate();
+        AsciiTokenizer tokenizer = new AsciiTokenizer(body);
+        List<Direction> directions = readDirections(tokenizer);
+        body.position(tokenizer.position());
+        Map<String, SimpleEntry<String, String>> navigations = new ConcurrentHashMap<>();
+        ChunkedLineProcessor.slices(body, chunkSize).parallelStream()
+                .forEach(chunk -> readNavigations(new AsciiTokenizer(chunk), navigations));
+        return new WastelandMap(directions, navigations);
+    }
+
+    public static WastelandMap readMapSequentially(ByteBuffer input) {
+        AsciiTokenizer tokenizer = new AsciiTokenizer(input);
+        List<Direction> directions = readDirections(tokenizer);
+        return new WastelandMap(directions, readNavigations(tokenizer));
+    }
+
+    static HashMap<String, SimpleEntry<String, String>> readNavigations(AsciiTokenizer tokenizer) {
+        HashMap<String, SimpleEntry<String, String>> navigations = new HashMap<>();
+        readNavigations(tokenizer, navigations);
+        return navigations;
     }
 
-    private static List<Direction> readDirections(String directionsLine) {
-        Objects.requireNonNull(directionsLine);
-        return Arrays.stream(directionsLine.split(""))
-                .map(token -> {
-                    if ("L".equals(token)) {
-                        return Direction.LEFT;
-                    } else {
-                        return Direction.RIGHT;
-                    }
-                }).collect(Collectors.toList());
+    // a node defined twice with different neighbours has no single answer, whichever chunk is read first
+    private static void readNavigations(AsciiTokenizer tokenizer, Map<String, SimpleEntry<String, String>> navigations) {
+        tokenizer.skipWhitespace();
+        while (tokenizer.hasRemaining()) {
+            String node = tokenizer.nextIdentifier();
+            tokenizer.expect("=");
+            tokenizer.expect("(");
+            String left = tokenizer.nextIdentifier();
+            tokenizer.expect(",");
+            String right = tokenizer.nextIdentifier();
+            tokenizer.expect(")");
+            SimpleEntry<String, String> neighbours = new SimpleEntry<>(left, right);
+            SimpleEntry<String, String> previous = navigations.putIfAbsent(node, neighbours);
+            if (previous != null && !previous.equals(neighbours)) {
+                throw new IllegalStateException("Node " + node + " is defined twice");
+            }
+            tokenizer.skipLine();
+            tokenizer.skipWhitespace();
+        }
+    }
+
+    static List<Direction> readDirections(AsciiTokenizer tokenizer) {
+        Objects.requireNonNull(tokenizer);
+        tokenizer.skipWhitespace();
+        List<Direction> directions = new ArrayList<>();
+        while (!tokenizer.atLineEnd()) {
+            directions.add(tokenizer.next() == 'L' ? Direction.LEFT : Direction.RIGHT);
+        }
+        tokenizer.skipLine();
+        return directions;
     }
 
     public enum Direction {
@@ -152,6 +218,8 @@ public class HauntedWasteland {
         RIGHT
     }
 
+    public static record WastelandMap(List<Direction> directions, Map<String, SimpleEntry<String, String>> navigations) {}
+
     public static class DirectionsInfiniteIterator implements Iterator<Direction> {
 
         private final List<Direction> directions;
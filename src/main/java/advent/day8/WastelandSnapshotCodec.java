@@ -0,0 +1,106 @@
+package advent.day8;
+
+import advent.day8.HauntedWasteland.Direction;
+import advent.day8.HauntedWasteland.WastelandMap;
+import advent.snapshot.SnapshotCodec;
+import advent.snapshot.SnapshotSections;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// node names are interned into ids: the name table holds every name once and the navigations
+// are stored as left and right id arrays indexed by the id of the node they belong to
+public class WastelandSnapshotCodec implements SnapshotCodec<WastelandMap> {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Override
+    public String id() {
+        return "day8.map";
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public void write(WastelandMap map, DataOutputStream output) throws IOException {
+        byte[] directions = new byte[map.directions().size()];
+        for (int i = 0; i < directions.length; i++) {
+            directions[i] = (byte) map.directions().get(i).ordinal();
+        }
+
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        // nodes with navigations come first, so their ids match the positions in the left and right arrays
+        for (String node: map.navigations().keySet()) {
+            intern(node, ids, names);
+        }
+        int[] left = new int[ids.size()];
+        int[] right = new int[ids.size()];
+        for (Map.Entry<String, SimpleEntry<String, String>> navigation: map.navigations().entrySet()) {
+            int id = ids.get(navigation.getKey());
+            left[id] = intern(navigation.getValue().getKey(), ids, names);
+            right[id] = intern(navigation.getValue().getValue(), ids, names);
+        }
+
+        byte[][] encodedNames = new byte[names.size()][];
+        int nameBytes = 0;
+        for (int i = 0; i < encodedNames.length; i++) {
+            encodedNames[i] = names.get(i).getBytes(StandardCharsets.US_ASCII);
+            nameBytes += encodedNames[i].length;
+        }
+        byte[] nameTable = new byte[nameBytes];
+        int[] nameEnds = new int[encodedNames.length];
+        int position = 0;
+        for (int i = 0; i < encodedNames.length; i++) {
+            System.arraycopy(encodedNames[i], 0, nameTable, position, encodedNames[i].length);
+            position += encodedNames[i].length;
+            nameEnds[i] = position;
+        }
+
+        SnapshotSections.writeBytes(output, directions);
+        SnapshotSections.writeBytes(output, nameTable);
+        SnapshotSections.writeInts(output, nameEnds);
+        SnapshotSections.writeInts(output, left);
+        SnapshotSections.writeInts(output, right);
+    }
+
+    @Override
+    public WastelandMap read(ByteBuffer snapshot) {
+        byte[] directionOrdinals = SnapshotSections.readBytes(snapshot);
+        byte[] nameTable = SnapshotSections.readBytes(snapshot);
+        int[] nameEnds = SnapshotSections.readInts(snapshot);
+        int[] left = SnapshotSections.readInts(snapshot);
+        int[] right = SnapshotSections.readInts(snapshot);
+
+        List<Direction> directions = new ArrayList<>(directionOrdinals.length);
+        for (byte ordinal: directionOrdinals) {
+            directions.add(DIRECTIONS[ordinal]);
+        }
+        String[] names = new String[nameEnds.length];
+        int start = 0;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = new String(nameTable, start, nameEnds[i] - start, StandardCharsets.US_ASCII);
+            start = nameEnds[i];
+        }
+        Map<String, SimpleEntry<String, String>> navigations = new HashMap<>(left.length * 2);
+        for (int id = 0; id < left.length; id++) {
+            navigations.put(names[id], new SimpleEntry<>(names[left[id]], names[right[id]]));
+        }
+        return new WastelandMap(directions, navigations);
+    }
+
+    private static int intern(String name, Map<String, Integer> ids, List<String> names) {
+        return ids.computeIfAbsent(name, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+    }
+}
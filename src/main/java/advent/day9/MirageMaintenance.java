@@ -1,95 +1,133 @@
 package advent.day9;
 
-import advent.ResourceUtils;
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.util.ArrayList;
+import advent.AsciiTokenizer;
+import advent.BothPartsLineSolver;
+import advent.LineAccumulator;
+import advent.LineFunction;
+import advent.LineSumSolver;
+import advent.Puzzle;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.List;
-import java.util.function.BiConsumer;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class MirageMaintenance {
-    private static final Logger logger = Logger.getLogger(MirageMaintenance.class.getName());
     private static final String REPORT = "day9/sensor-report.txt";
 
-    public static class Solution1 {
+    public static final Puzzle PART_1 = new Puzzle(9, 1, MirageMaintenance.class, REPORT, Solution1::new);
+    public static final Puzzle PART_2 = new Puzzle(9, 2, MirageMaintenance.class, REPORT, Solution2::new);
+    public static final Puzzle BOTH = new Puzzle(9, Puzzle.BOTH_PARTS, MirageMaintenance.class, REPORT, BothParts::new);
+
+    public static class Solution1 implements LineSumSolver {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(MirageMaintenance.class, REPORT)) {
-                int result = reader.lines()
-                        .map(MirageMaintenance::lineToValueHistory)
-                        .map(history -> extrapolateValueHistory(history, Solution1::extrapolate))
-                        .mapToInt(history -> history.get(history.size() - 1))
-                        .sum();
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_1.run(args);
         }
 
-        private static void extrapolate(List<Integer> sequence, List<Integer> upperSequence) {
-            int difference = sequence.get(sequence.size() - 1) + upperSequence.get(upperSequence.size() - 1);
-            upperSequence.add(difference);
+        @Override
+        public LineFunction lineFunction() {
+            return nextValues();
+        }
+
+        static LineFunction nextValues() {
+            HistoryExtrapolator extrapolator = new HistoryExtrapolator();
+            return (line, start, end) -> extrapolator.read(line, start, end).extrapolateForwards();
         }
     }
 
-    public static class Solution2 {
+    public static class Solution2 implements LineSumSolver {
         public static void main(String[] args) {
-            try (BufferedReader reader = ResourceUtils.resourceReader(MirageMaintenance.class, REPORT)) {
-                int result = reader.lines()
-                        .map(MirageMaintenance::lineToValueHistory)
-                        .map(history -> extrapolateValueHistory(history, Solution2::extrapolate))
-                        .mapToInt(history -> history.get(0))
-                        .sum();
-                logger.log(Level.INFO, "Result = {0}", result);
-            } catch (IOException ex) {
-                logger.log(Level.SEVERE, "Unable to read input file", ex);
-            }
+            PART_2.run(args);
         }
 
-        private static void extrapolate(List<Integer> sequence, List<Integer> upperSequence) {
-            int difference = upperSequence.get(0) - sequence.get(0) ;
-            upperSequence.add(0, difference);
+        @Override
+        public LineFunction lineFunction() {
+            return previousValues();
+        }
+
+        static LineFunction previousValues() {
+            HistoryExtrapolator extrapolator = new HistoryExtrapolator();
+            return (line, start, end) -> extrapolator.read(line, start, end).extrapolateBackwards();
         }
     }
 
-    private static List<Integer> extrapolateValueHistory(List<Integer> history,
-                                                         BiConsumer<List<Integer>, List<Integer>> extrapolation) {
-        List<List<Integer>> differences = prepareDifferences(history);
+    public static class BothParts implements BothPartsLineSolver {
+        public static void main(String[] args) {
+            BOTH.run(args);
+        }
 
-        for (int i = differences.size() - 1; i > 0; i--) {
-            List<Integer> sequence = differences.get(i);
-            List<Integer> upperSequence = differences.get(i - 1);
-            extrapolation.accept(sequence, upperSequence);
+        @Override
+        public LineAccumulator lineAccumulator() {
+            HistoryExtrapolator extrapolator = new HistoryExtrapolator();
+            return (line, start, end, sums) -> extrapolator.read(line, start, end).extrapolateBothWays(sums);
         }
-        return history;
     }
 
-    private static List<List<Integer>> prepareDifferences(List<Integer> history) {
-        List<List<Integer>> differences = new ArrayList<>();
-        differences.add(history);
+    // differences are computed in place: after level k the values from index k on hold the k-th differences,
+    // so the next value is the sum of the last elements and the previous one the alternating sum of the first ones
+    static class HistoryExtrapolator {
+        private final AsciiTokenizer tokenizer = new AsciiTokenizer(ByteBuffer.allocate(0));
+        private long[] values = new long[32];
+        private int size;
 
-        List<Integer> currentSequence = history;
+        HistoryExtrapolator read(ByteBuffer line, int start, int end) {
+            tokenizer.reset(line, start, end);
+            size = 0;
+            while (tokenizer.hasNextNumber()) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = tokenizer.nextLong();
+            }
+            return this;
+        }
 
-        while (!currentSequence.stream().allMatch(value -> value == 0)) {
-            List<Integer> nextSequence = new ArrayList<>();
-            for (int i = 0; i < currentSequence.size() - 1; i++) {
-                int difference =  currentSequence.get(i + 1) - currentSequence.get(i);
-                nextSequence.add(difference);
+        long extrapolateForwards() {
+            long next = 0;
+            for (int level = 0; level < size; level++) {
+                next = Math.addExact(next, values[size - 1]);
+                if (!differentiate(level + 1)) {
+                    break;
+                }
             }
-            if (!nextSequence.isEmpty()) {
-                differences.add(nextSequence);
+            return next;
+        }
+
+        long extrapolateBackwards() {
+            long previous = 0;
+            for (int level = 0; level < size; level++) {
+                previous = level % 2 == 0
+                        ? Math.addExact(previous, values[level])
+                        : Math.subtractExact(previous, values[level]);
+                if (!differentiate(level + 1)) {
+                    break;
+                }
             }
-            currentSequence = nextSequence;
+            return previous;
         }
-        return differences;
-    }
 
-    private static List<Integer> lineToValueHistory(String line) {
-        return Arrays.stream(line.trim().split("\s+"))
-                .map(value -> Integer.parseInt(value.trim()))
-                .collect(Collectors.toList());
+        // one pyramid serves both directions, the next value goes to sums[0] and the previous one to sums[1]
+        void extrapolateBothWays(long[] sums) {
+            long next = 0;
+            long previous = 0;
+            for (int level = 0; level < size; level++) {
+                next = Math.addExact(next, values[size - 1]);
+                previous = level % 2 == 0
+                        ? Math.addExact(previous, values[level])
+                        : Math.subtractExact(previous, values[level]);
+                if (!differentiate(level + 1)) {
+                    break;
+                }
+            }
+            sums[0] = Math.addExact(sums[0], next);
+            sums[1] = Math.addExact(sums[1], previous);
+        }
+
+        // turns values[level..] into the differences of the previous level and tells whether any of them is not zero
+        private boolean differentiate(int level) {
+            boolean nonZero = false;
+            for (int i = size - 1; i >= level; i--) {
+                values[i] = Math.subtractExact(values[i], values[i - 1]);
+                nonZero |= values[i] != 0;
+            }
+            return nonZero;
+        }
     }
 }
@@ -0,0 +1,93 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class AlmanacGenerator implements InputGenerator {
+    private static final List<String> MAPS = List.of(
+            "seed-to-soil",
+            "soil-to-fertilizer",
+            "fertilizer-to-water",
+            "water-to-light",
+            "light-to-temperature",
+            "temperature-to-humidity",
+            "humidity-to-location"
+    );
+    private static final long VALUE_SPACE = 1L << 32;
+    private static final int SEED_RANGES = 10;
+
+    @Override
+    public void generate(Random random, int size, Writer writer) throws IOException {
+        writer.append("seeds:");
+        for (int i = 0; i < SEED_RANGES; i++) {
+            long start = nextLong(random, VALUE_SPACE / 2);
+            long length = 1 + nextLong(random, VALUE_SPACE / (SEED_RANGES * 4L));
+            writer.append(' ').append(Long.toString(start)).append(' ').append(Long.toString(length));
+        }
+        writer.append('\n');
+
+        for (String map : MAPS) {
+            writer.append('\n').append(map).append(" map:\n");
+            writeMap(random, Math.max(1, size), writer);
+        }
+    }
+
+    private static void writeMap(Random random, int ranges, Writer writer) throws IOException {
+        // cut the value space into disjoint source segments and send them to a shuffled layout of the same segments
+        long[] bounds = segmentBounds(random, ranges);
+        int[] order = shuffledIndexes(random, ranges);
+        long[] destinations = new long[ranges];
+        long next = 0;
+        for (int segment : order) {
+            destinations[segment] = next;
+            next += bounds[segment + 1] - bounds[segment];
+        }
+        for (int segment : shuffledIndexes(random, ranges)) {
+            if (random.nextInt(10) == 0) {
+                // leave some gaps that map values to themselves
+                continue;
+            }
+            writer.append(Long.toString(destinations[segment]))
+                    .append(' ')
+                    .append(Long.toString(bounds[segment]))
+                    .append(' ')
+                    .append(Long.toString(bounds[segment + 1] - bounds[segment]))
+                    .append('\n');
+        }
+    }
+
+    private static long[] segmentBounds(Random random, int ranges) {
+        TreeSet<Long> cuts = new TreeSet<>();
+        while (cuts.size() < ranges - 1) {
+            cuts.add(1 + nextLong(random, VALUE_SPACE - 1));
+        }
+        long[] bounds = new long[ranges + 1];
+        int i = 1;
+        for (long cut : cuts) {
+            bounds[i++] = cut;
+        }
+        bounds[ranges] = VALUE_SPACE;
+        return bounds;
+    }
+
+    private static int[] shuffledIndexes(Random random, int size) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    private static long nextLong(Random random, long bound) {
+        return (random.nextLong() >>> 1) % bound;
+    }
+}
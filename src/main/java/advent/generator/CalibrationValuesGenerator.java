@@ -0,0 +1,46 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Random;
+
+public class CalibrationValuesGenerator implements InputGenerator {
+    private static final List<String> DIGIT_WORDS =
+            List.of("one", "two", "three", "four", "five", "six", "seven", "eight", "nine");
+    private static final int MIN_LINE_LENGTH = 4;
+    private static final int MAX_LINE_LENGTH = 48;
+
+    private final boolean spelledDigits;
+
+    public CalibrationValuesGenerator(boolean spelledDigits) {
+        this.spelledDigits = spelledDigits;
+    }
+
+    @Override
+    public void generate(Random random, int size, Writer writer) throws IOException {
+        StringBuilder line = new StringBuilder(MAX_LINE_LENGTH + 8);
+        for (int i = 0; i < size; i++) {
+            line.setLength(0);
+            int length = MIN_LINE_LENGTH + random.nextInt(MAX_LINE_LENGTH - MIN_LINE_LENGTH);
+            boolean hasDigit = false;
+            while (line.length() < length) {
+                int roll = random.nextInt(10);
+                if (roll < 2) {
+                    line.append((char) ('1' + random.nextInt(9)));
+                    hasDigit = true;
+                } else if (spelledDigits && roll < 4) {
+                    line.append(DIGIT_WORDS.get(random.nextInt(DIGIT_WORDS.size())));
+                    hasDigit = true;
+                } else {
+                    line.append((char) ('a' + random.nextInt(26)));
+                }
+            }
+            if (!hasDigit) {
+                // every line has to carry at least one calibration digit
+                line.setCharAt(random.nextInt(line.length()), (char) ('1' + random.nextInt(9)));
+            }
+            writer.append(line).append('\n');
+        }
+    }
+}
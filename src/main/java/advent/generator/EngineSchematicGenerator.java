@@ -0,0 +1,37 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class EngineSchematicGenerator implements InputGenerator {
+    private static final String SYMBOLS = "*#+$/=%@&-";
+
+    @Override
+    public void generate(Random random, int size, Writer writer) throws IOException {
+        char[] row = new char[size];
+        for (int i = 0; i < size; i++) {
+            int j = 0;
+            while (j < size) {
+                int roll = random.nextInt(20);
+                if (roll < 3) {
+                    int digits = Math.min(1 + random.nextInt(3), size - j);
+                    row[j++] = (char) ('1' + random.nextInt(9));
+                    for (int digit = 1; digit < digits; digit++) {
+                        row[j++] = (char) ('0' + random.nextInt(10));
+                    }
+                    if (j < size) {
+                        // keep neighbouring numbers apart
+                        row[j++] = '.';
+                    }
+                } else if (roll < 5) {
+                    row[j++] = roll == 3 ? '*' : SYMBOLS.charAt(random.nextInt(SYMBOLS.length()));
+                } else {
+                    row[j++] = '.';
+                }
+            }
+            writer.write(row);
+            writer.append('\n');
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class HandsGenerator implements InputGenerator {
+    private static final String CARDS = "23456789TJQKA";
+    private static final int HAND_SIZE = 5;
+    private static final int MAX_BID = 1000;
+
+    @Override
+    public void generate(Random random, int size, Writer writer) throws IOException {
+        char[] hand = new char[HAND_SIZE];
+        for (int i = 0; i < size; i++) {
+            // draw from a few symbols at a time so every hand type shows up
+            int symbols = 1 + random.nextInt(CARDS.length());
+            int offset = random.nextInt(CARDS.length());
+            for (int card = 0; card < HAND_SIZE; card++) {
+                hand[card] = CARDS.charAt((offset + random.nextInt(symbols)) % CARDS.length());
+            }
+            writer.write(hand);
+            writer.append(' ').append(Integer.toString(1 + random.nextInt(MAX_BID))).append('\n');
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package advent.generator;
+
+public enum InputFormat {
+    CALIBRATION_VALUES(new CalibrationValuesGenerator(false)),
+    SPELLED_CALIBRATION_VALUES(new CalibrationValuesGenerator(true)),
+    KUBE_GAMES(new KubeGamesGenerator()),
+    ENGINE_SCHEMATIC(new EngineSchematicGenerator()),
+    CARDS(new ScratchcardsGenerator()),
+    ALMANAC(new AlmanacGenerator()),
+    RACE_DISTANCES(new RaceDistancesGenerator()),
+    HANDS(new HandsGenerator()),
+    WASTELAND_MAP(new WastelandMapGenerator()),
+    SENSOR_REPORT(new SensorReportGenerator()),
+    PIPES_BLUEPRINT(new PipesBlueprintGenerator()),
+    SPACE_IMAGE(new SpaceImageGenerator());
+
+    private final InputGenerator generator;
+
+    InputFormat(InputGenerator generator) {
+        this.generator = generator;
+    }
+
+    public InputGenerator getGenerator() {
+        return generator;
+    }
+}
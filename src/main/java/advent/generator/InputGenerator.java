@@ -0,0 +1,9 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public interface InputGenerator {
+    void generate(Random random, int size, Writer writer) throws IOException;
+}
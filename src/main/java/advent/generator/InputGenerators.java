@@ -0,0 +1,52 @@
+package advent.generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class InputGenerators {
+    private static final Logger logger = Logger.getLogger(InputGenerators.class.getName());
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    public static void main(String[] args) {
+        if (args.length != 4) {
+            logger.log(Level.SEVERE, "Usage: InputGenerators <format> <size> <seed> <output file>");
+            return;
+        }
+        InputFormat format = InputFormat.valueOf(args[0]);
+        int size = Integer.parseInt(args[1]);
+        long seed = Long.parseLong(args[2]);
+        Path output = Path.of(args[3]);
+        try {
+            generate(format, size, seed, output);
+            logger.log(Level.INFO, "Generated {0}", output);
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Unable to write output file", ex);
+        }
+    }
+
+    public static void generate(InputFormat format, int size, long seed, Path output) throws IOException {
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(output), StandardCharsets.US_ASCII), BUFFER_SIZE)) {
+            format.getGenerator().generate(new Random(seed), size, writer);
+        }
+    }
+
+    public static String generate(InputFormat format, int size, long seed) {
+        StringWriter writer = new StringWriter();
+        try {
+            format.getGenerator().generate(new Random(seed), size, writer);
+        } catch (IOException ex) {
+            throw new IllegalStateException("In-memory writer failed", ex);
+        }
+        return writer.toString();
+    }
+}
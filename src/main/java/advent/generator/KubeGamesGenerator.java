@@ -0,0 +1,40 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class KubeGamesGenerator implements InputGenerator {
+    private static final List<String> COLOURS = List.of("red", "green", "blue");
+    private static final int MAX_SETS = 6;
+    private static final int MAX_KUBES = 20;
+
+    @Override
+    public void generate(Random random, int size, Writer writer) throws IOException {
+        List<String> colours = new ArrayList<>(COLOURS);
+        for (int id = 1; id <= size; id++) {
+            writer.append("Game ").append(Integer.toString(id)).append(':');
+            int sets = 1 + random.nextInt(MAX_SETS);
+            for (int set = 0; set < sets; set++) {
+                if (set > 0) {
+                    writer.append(';');
+                }
+                Collections.shuffle(colours, random);
+                int coloursInSet = 1 + random.nextInt(colours.size());
+                for (int colour = 0; colour < coloursInSet; colour++) {
+                    if (colour > 0) {
+                        writer.append(',');
+                    }
+                    writer.append(' ')
+                            .append(Integer.toString(1 + random.nextInt(MAX_KUBES)))
+                            .append(' ')
+                            .append(colours.get(colour));
+                }
+            }
+            writer.append('\n');
+        }
+    }
+}
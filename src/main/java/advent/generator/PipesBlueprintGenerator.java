@@ -0,0 +1,76 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class PipesBlueprintGenerator implements InputGenerator {
+    private static final String JUNK = "|-LJ7F...";
+
+    @Override
+    public void generate(Random random, int size, Writer writer) throws IOException {
+        int side = Math.max(3, size);
+        // the loop is the outline of a stack of overlapping row intervals, which never touches itself;
+        // region row r spans the cells [left[r], right[r]] and its outline runs over grid rows r and r + 1
+        int regionRows = side - 1;
+        int[] left = new int[regionRows];
+        int[] right = new int[regionRows];
+        int maxColumn = side - 2;
+        left[0] = random.nextInt(maxColumn + 1);
+        right[0] = left[0] + random.nextInt(maxColumn - left[0] + 1);
+        for (int r = 1; r < regionRows; r++) {
+            int nextLeft = clamp(left[r - 1] + random.nextInt(5) - 2, 0, right[r - 1]);
+            int nextRight = clamp(right[r - 1] + random.nextInt(5) - 2, left[r - 1], maxColumn);
+            left[r] = Math.min(nextLeft, nextRight);
+            right[r] = Math.max(nextLeft, nextRight);
+        }
+
+        int startRow = random.nextInt(regionRows);
+        int startColumn = left[startRow];
+
+        char[] row = new char[side];
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                boolean up = y > 0 && inside(left, right, y - 1, x - 1) != inside(left, right, y - 1, x);
+                boolean down = y < regionRows && inside(left, right, y, x - 1) != inside(left, right, y, x);
+                boolean west = inside(left, right, y - 1, x - 1) != inside(left, right, y, x - 1);
+                boolean east = inside(left, right, y - 1, x) != inside(left, right, y, x);
+                row[x] = pipe(up, down, west, east);
+                if (row[x] == '.') {
+                    // nothing next to the start may look like a second way into it
+                    boolean nearStart = Math.abs(y - startRow) <= 1 && Math.abs(x - startColumn) <= 1;
+                    row[x] = nearStart ? '.' : JUNK.charAt(random.nextInt(JUNK.length()));
+                }
+            }
+            if (y == startRow) {
+                row[startColumn] = 'S';
+            }
+            writer.write(row);
+            writer.append('\n');
+        }
+    }
+
+    private static boolean inside(int[] left, int[] right, int r, int column) {
+        return r >= 0 && r < left.length && column >= left[r] && column <= right[r];
+    }
+
+    private static char pipe(boolean up, boolean down, boolean west, boolean east) {
+        if (up && down) {
+            return '|';
+        }
+        if (west && east) {
+            return '-';
+        }
+        if (up) {
+            return east ? 'L' : 'J';
+        }
+        if (down) {
+            return east ? 'F' : '7';
+        }
+        return '.';
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,38 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class RaceDistancesGenerator implements InputGenerator {
+    private static final int MIN_TIME = 7;
+    private static final int MAX_TIME = 99;
+
+    @Override
+    public void generate(Random random, int size, Writer writer) throws IOException {
+        long[] times = new long[size];
+        long[] distances = new long[size];
+        for (int i = 0; i < size; i++) {
+            times[i] = MIN_TIME + random.nextInt(MAX_TIME - MIN_TIME + 1);
+            // the record has to be beatable, holding for half of the race travels time^2 / 4
+            distances[i] = random.nextInt((int) (times[i] * times[i] / 4));
+        }
+        writeRow("Time:", times, writer);
+        writeRow("Distance:", distances, writer);
+    }
+
+    private static void writeRow(String header, long[] values, Writer writer) throws IOException {
+        writer.append(header);
+        for (int i = header.length(); i < 10; i++) {
+            writer.append(' ');
+        }
+        for (long value : values) {
+            String text = Long.toString(value);
+            for (int i = text.length(); i < 5; i++) {
+                writer.append(' ');
+            }
+            writer.append(text);
+        }
+        writer.append('\n');
+    }
+}
@@ -0,0 +1,43 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ScratchcardsGenerator implements InputGenerator {
+    private static final int WINNING_NUMBERS = 10;
+    private static final int NUMBERS = 25;
+    private static final int MAX_NUMBER = 99;
+
+    @Override
+    public void generate(Random random, int size, Writer writer) throws IOException {
+        List<Integer> pool = IntStream.rangeClosed(1, MAX_NUMBER).boxed().collect(Collectors.toList());
+        String idFormat = "Card %" + Integer.toString(size).length() + "d:";
+        for (int id = 1; id <= size; id++) {
+            Collections.shuffle(pool, random);
+            List<Integer> winning = pool.subList(0, WINNING_NUMBERS);
+            // half of the cards lose, and no card wins copies past the end of the table
+            int matches = random.nextBoolean() ? 0 : random.nextInt(Math.min(WINNING_NUMBERS, size - id) + 1);
+            List<Integer> numbers = new ArrayList<>(pool.subList(0, matches));
+            numbers.addAll(pool.subList(WINNING_NUMBERS, WINNING_NUMBERS + NUMBERS - matches));
+            Collections.shuffle(numbers, random);
+
+            writer.append(idFormat.formatted(id));
+            writeNumbers(winning, writer);
+            writer.append(" |");
+            writeNumbers(numbers, writer);
+            writer.append('\n');
+        }
+    }
+
+    private static void writeNumbers(List<Integer> numbers, Writer writer) throws IOException {
+        for (int number : numbers) {
+            writer.append(number < 10 ? "  " : " ").append(Integer.toString(number));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class SensorReportGenerator implements InputGenerator {
+    private static final int HISTORY_LENGTH = 21;
+    private static final int MAX_DEGREE = 4;
+    private static final int MAX_COEFFICIENT = 3;
+
+    @Override
+    public void generate(Random random, int size, Writer writer) throws IOException {
+        int[] coefficients = new int[MAX_DEGREE + 1];
+        for (int i = 0; i < size; i++) {
+            // sampling a polynomial guarantees the difference pyramid ends in zeros
+            int degree = random.nextInt(MAX_DEGREE + 1);
+            for (int power = 0; power <= degree; power++) {
+                coefficients[power] = random.nextInt(2 * MAX_COEFFICIENT + 1) - MAX_COEFFICIENT;
+            }
+            for (int x = 0; x < HISTORY_LENGTH; x++) {
+                long value = 0;
+                for (int power = degree; power >= 0; power--) {
+                    value = value * x + coefficients[power];
+                }
+                if (x > 0) {
+                    writer.append(' ');
+                }
+                writer.append(Long.toString(value));
+            }
+            writer.append('\n');
+        }
+    }
+}
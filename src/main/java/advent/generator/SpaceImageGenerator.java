@@ -0,0 +1,28 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class SpaceImageGenerator implements InputGenerator {
+    private static final int EMPTY_LINE_PERCENT = 10;
+    private static final int GALAXY_PERCENT = 5;
+
+    @Override
+    public void generate(Random random, int size, Writer writer) throws IOException {
+        boolean[] emptyColumns = new boolean[size];
+        for (int x = 0; x < size; x++) {
+            emptyColumns[x] = random.nextInt(100) < EMPTY_LINE_PERCENT;
+        }
+        char[] row = new char[size];
+        for (int y = 0; y < size; y++) {
+            boolean emptyRow = random.nextInt(100) < EMPTY_LINE_PERCENT;
+            for (int x = 0; x < size; x++) {
+                boolean galaxy = !emptyRow && !emptyColumns[x] && random.nextInt(100) < GALAXY_PERCENT;
+                row[x] = galaxy ? '#' : '.';
+            }
+            writer.write(row);
+            writer.append('\n');
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class WastelandMapGenerator implements InputGenerator {
+    private static final int[] GHOST_CYCLES = {43, 47, 53, 59, 61, 67};
+    private static final String NODE_LETTERS = "BCDEFGHIJKLMNOPQRSTUVWXY";
+
+    @Override
+    public void generate(Random random, int size, Writer writer) throws IOException {
+        int cyclesLength = 0;
+        for (int cycle : GHOST_CYCLES) {
+            cyclesLength += cycle;
+        }
+        int directionsLength = Math.max(1, size / cyclesLength);
+        int nameLength = Math.max(3, nameLength(directionsLength * cyclesLength));
+
+        StringBuilder directions = new StringBuilder(directionsLength);
+        for (int i = 0; i < directionsLength; i++) {
+            directions.append(random.nextBoolean() ? 'L' : 'R');
+        }
+        writer.append(directions).append("\n\n");
+
+        // every ghost walks a loop of (prime * directions) steps from its A node back to its Z node,
+        // which is the shape the LCM in Solution2 relies on; ghost 0 walks from AAA to ZZZ
+        List<String> navigations = new ArrayList<>(directionsLength * cyclesLength + GHOST_CYCLES.length);
+        int nodeIndex = 0;
+        for (int ghost = 0; ghost < GHOST_CYCLES.length; ghost++) {
+            String start = ghost == 0 ? "AAA" : encode(ghost, nameLength - 1) + 'A';
+            String end = ghost == 0 ? "ZZZ" : encode(ghost, nameLength - 1) + 'Z';
+            int steps = GHOST_CYCLES[ghost] * directionsLength;
+
+            String first = encode(nodeIndex, nameLength);
+            String previous = start;
+            for (int step = 1; step < steps; step++) {
+                String node = encode(nodeIndex++, nameLength);
+                navigations.add(navigation(previous, node, node));
+                previous = node;
+            }
+            navigations.add(navigation(previous, end, end));
+            navigations.add(navigation(end, first, first));
+        }
+        Collections.shuffle(navigations, random);
+        for (String navigation : navigations) {
+            writer.append(navigation).append('\n');
+        }
+    }
+
+    private static String navigation(String node, String left, String right) {
+        return node + " = (" + left + ", " + right + ")";
+    }
+
+    private static int nameLength(int nodes) {
+        int length = 1;
+        for (long capacity = NODE_LETTERS.length(); capacity < nodes; capacity *= NODE_LETTERS.length()) {
+            length++;
+        }
+        return length;
+    }
+
+    private static String encode(int index, int length) {
+        char[] name = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            name[i] = NODE_LETTERS.charAt(index % NODE_LETTERS.length());
+            index /= NODE_LETTERS.length();
+        }
+        return new String(name);
+    }
+}
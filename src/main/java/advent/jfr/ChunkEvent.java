@@ -0,0 +1,27 @@
+package advent.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("advent.Chunk")
+@Label("Chunk")
+@Category({"Advent of Code", "Milestones"})
+@Description("One newline aligned chunk reduced by a chunked line processor worker")
+public class ChunkEvent extends Event {
+    @Label("Input")
+    public String input;
+
+    @Label("Offset")
+    public long offset;
+
+    @Label("Lines")
+    public long lines;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,22 @@
+package advent.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("advent.Milestone")
+@Label("Milestone")
+@Category({"Advent of Code", "Milestones"})
+@Description("A step of a long running solve, such as one almanac map applied or one ghost reaching its end")
+public class MilestoneEvent extends Event {
+    @Label("Puzzle")
+    public String puzzle;
+
+    @Label("Milestone")
+    public String name;
+
+    @Label("Value")
+    public long value;
+}
@@ -0,0 +1,26 @@
+package advent.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("advent.Parse")
+@Label("Parse")
+@Category({"Advent of Code", "Phases"})
+@Description("Reads a puzzle input into the solver model")
+public class ParseEvent extends PuzzleEvent {
+    @Label("Input")
+    public String input;
+
+    @Label("Lines")
+    public long lines;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("From Snapshot")
+    public boolean snapshot;
+}
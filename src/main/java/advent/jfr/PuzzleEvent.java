@@ -0,0 +1,12 @@
+package advent.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+public abstract class PuzzleEvent extends Event {
+    @Label("Puzzle")
+    public String puzzle;
+
+    @Label("Solver")
+    public Class<?> solver;
+}
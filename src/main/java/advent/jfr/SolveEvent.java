@@ -0,0 +1,15 @@
+package advent.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("advent.Solve")
+@Label("Solve")
+@Category({"Advent of Code", "Phases"})
+@Description("Computes a puzzle answer from the parsed model")
+public class SolveEvent extends PuzzleEvent {
+    @Label("Result")
+    public String result;
+}
@@ -0,0 +1,16 @@
+package advent.snapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public interface SnapshotCodec<M> {
+    // models that differ between parts need different ids, parts sharing a model may share its snapshot
+    String id();
+
+    int version();
+
+    void write(M model, DataOutputStream output) throws IOException;
+
+    M read(ByteBuffer snapshot);
+}
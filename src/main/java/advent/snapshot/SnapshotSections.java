@@ -0,0 +1,59 @@
+package advent.snapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// bodies are built from length prefixed primitive arrays, which load with bulk copies out of the mapping
+public class SnapshotSections {
+
+    public static void writeLongs(DataOutputStream output, long[] values) throws IOException {
+        output.writeInt(values.length);
+        for (long value: values) {
+            output.writeLong(value);
+        }
+    }
+
+    public static long[] readLongs(ByteBuffer snapshot) {
+        long[] values = new long[length(snapshot, Long.BYTES)];
+        snapshot.asLongBuffer().get(values);
+        snapshot.position(snapshot.position() + values.length * Long.BYTES);
+        return values;
+    }
+
+    public static void writeInts(DataOutputStream output, int[] values) throws IOException {
+        output.writeInt(values.length);
+        for (int value: values) {
+            output.writeInt(value);
+        }
+    }
+
+    public static int[] readInts(ByteBuffer snapshot) {
+        int[] values = new int[length(snapshot, Integer.BYTES)];
+        snapshot.asIntBuffer().get(values);
+        snapshot.position(snapshot.position() + values.length * Integer.BYTES);
+        return values;
+    }
+
+    public static void writeBytes(DataOutputStream output, byte[] values) throws IOException {
+        output.writeInt(values.length);
+        output.write(values);
+    }
+
+    public static byte[] readBytes(ByteBuffer snapshot) {
+        byte[] values = new byte[length(snapshot, Byte.BYTES)];
+        snapshot.get(values);
+        return values;
+    }
+
+    // the length prefix is checked against what is left before any array is sized by it,
+    // so a corrupt prefix fails like any other unreadable snapshot instead of running out of memory
+    private static int length(ByteBuffer snapshot, int elementSize) {
+        int length = snapshot.getInt();
+        if (length < 0 || (long) length * elementSize > snapshot.remaining()) {
+            throw new IllegalStateException("Section of " + length + " elements does not fit the "
+                    + snapshot.remaining() + " bytes left in the snapshot");
+        }
+        return length;
+    }
+}
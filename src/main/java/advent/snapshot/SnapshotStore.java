@@ -0,0 +1,114 @@
+package advent.snapshot;
+
+import advent.ContentHash;
+import advent.InputSource;
+import advent.LruDirectory;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// a snapshot is a small header followed by the codec body, keyed by the input content and the codec,
+// so any change to either one leads to a different file instead of a stale model
+public class SnapshotStore {
+    public static final String DIRECTORY_PROPERTY = "advent.snapshot.dir";
+    public static final String MAX_BYTES_PROPERTY = "advent.snapshot.max-bytes";
+    public static final long DEFAULT_MAX_BYTES = 1L << 30;
+
+    private static final Logger logger = Logger.getLogger(SnapshotStore.class.getName());
+
+    private static final int MAGIC = 0x414f4353;
+    private static final int FORMAT_VERSION = 1;
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path directory;
+    private final LruDirectory snapshots;
+
+    public SnapshotStore(Path directory, long maxBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.snapshots = new LruDirectory(this.directory, SNAPSHOT_SUFFIX, TEMPORARY_SUFFIX, maxBytes);
+    }
+
+    public static Optional<SnapshotStore> fromSystemProperties() throws IOException {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null) {
+            return Optional.empty();
+        }
+        long maxBytes = Long.getLong(MAX_BYTES_PROPERTY, DEFAULT_MAX_BYTES);
+        return Optional.of(new SnapshotStore(Path.of(directory), maxBytes));
+    }
+
+    public String key(SnapshotCodec<?> codec, InputSource input) throws IOException {
+        return ContentHash.sha256(List.of("snapshot v" + FORMAT_VERSION, codec.id(), "v" + codec.version()), input);
+    }
+
+    public <M> Optional<M> load(SnapshotCodec<M> codec, String key) throws IOException {
+        Path file = snapshot(key);
+        M model;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (!hasHeader(snapshot, codec)) {
+                return Optional.empty();
+            }
+            model = codec.read(snapshot.slice());
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (RuntimeException ex) {
+            // a truncated or corrupt body, the input is parsed from text again and the snapshot rewritten
+            logger.log(Level.WARNING, "Dropping unreadable snapshot " + file, ex);
+            Files.deleteIfExists(file);
+            return Optional.empty();
+        }
+        snapshots.touch(file);
+        return Optional.of(model);
+    }
+
+    public <M> void save(SnapshotCodec<M> codec, String key, M model) throws IOException {
+        Path temporary = Files.createTempFile(directory, key, TEMPORARY_SUFFIX);
+        try {
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeUTF(codec.id());
+                output.writeInt(codec.version());
+                codec.write(model, output);
+            }
+            long bytes = Files.size(temporary);
+            Files.move(temporary, snapshot(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            snapshots.written(bytes);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static boolean hasHeader(ByteBuffer snapshot, SnapshotCodec<?> codec) {
+        if (snapshot.remaining() < 10 || snapshot.getInt() != MAGIC || snapshot.getInt() != FORMAT_VERSION) {
+            return false;
+        }
+        int idLength = Short.toUnsignedInt(snapshot.getShort());
+        if (snapshot.remaining() < idLength + 4) {
+            return false;
+        }
+        byte[] id = new byte[idLength];
+        snapshot.get(id);
+        return codec.id().equals(new String(id, StandardCharsets.UTF_8)) && snapshot.getInt() == codec.version();
+    }
+
+    private Path snapshot(String key) {
+        return directory.resolve(key + SNAPSHOT_SUFFIX);
+    }
+}
@@ -0,0 +1,155 @@
+package advent;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import advent.day1.Trebuchet;
+import advent.day10.PipeMaze;
+import advent.day11.CosmicExpansion;
+import advent.day2.CubeConundrum;
+import advent.day3.GearRatios;
+import advent.day4.Scratchcards;
+import advent.day5.FoodProductionProblem;
+import advent.day6.WaitForIt;
+import advent.day7.CamelCards;
+import advent.day8.HauntedWasteland;
+import advent.day9.MirageMaintenance;
+import advent.generator.InputFormat;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+// solves generated inputs and compares the bytes each solver allocates per input line or grid cell with
+// its budget, so paths that do not allocate per element stay that way. Parsing builds the model and is
+// left out; solving runs warmed up, and the smallest of a few measured runs is taken so a stray
+// allocation by the JIT or the pool does not fail the test. Allocations are summed over all threads
+// that are alive when solving ends, which covers the fork-join workers of the chunked solvers.
+class AllocationBudgetTest {
+    private static final long SEED = 2023L;
+    private static final int WARMUP_RUNS = 10;
+    private static final int MEASURED_RUNS = 5;
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // budgets leave about half of the measured allocation as headroom; the line sums of days 1, 2, 4 and 9 and
+    // the grids of days 3 and 10 are solved without allocating and only get room for the constant overhead
+    // of the measurement and the pool
+    static List<Budget> budgets() {
+        return List.of(
+                new Budget(Trebuchet.PART_1, InputFormat.CALIBRATION_VALUES, 100_000, Unit.LINE, 0.25),
+                new Budget(Trebuchet.PART_2, InputFormat.SPELLED_CALIBRATION_VALUES, 100_000, Unit.LINE, 0.25),
+                new Budget(CubeConundrum.PART_1, InputFormat.KUBE_GAMES, 100_000, Unit.LINE, 0.25),
+                new Budget(CubeConundrum.PART_2, InputFormat.KUBE_GAMES, 100_000, Unit.LINE, 0.25),
+                new Budget(CubeConundrum.BOTH, InputFormat.KUBE_GAMES, 100_000, Unit.LINE, 0.25),
+                new Budget(GearRatios.PART_1, InputFormat.ENGINE_SCHEMATIC, 1_000, Unit.CELL, 0.1),
+                new Budget(GearRatios.PART_2, InputFormat.ENGINE_SCHEMATIC, 1_000, Unit.CELL, 0.1),
+                new Budget(GearRatios.BOTH, InputFormat.ENGINE_SCHEMATIC, 1_000, Unit.CELL, 0.1),
+                new Budget(GearRatios.PARALLEL, InputFormat.ENGINE_SCHEMATIC, 1_000, Unit.CELL, 0.1),
+                new Budget(Scratchcards.PART_1, InputFormat.CARDS, 2_000, Unit.LINE, 2),
+                new Budget(Scratchcards.PART_2, InputFormat.CARDS, 2_000, Unit.LINE, 1_000),
+                new Budget(Scratchcards.BOTH, InputFormat.CARDS, 2_000, Unit.LINE, 2),
+                new Budget(FoodProductionProblem.PART_1, InputFormat.ALMANAC, 1_000, Unit.LINE, 12),
+                new Budget(FoodProductionProblem.PART_2, InputFormat.ALMANAC, 1_000, Unit.LINE, 12_000),
+                new Budget(FoodProductionProblem.BOTH, InputFormat.ALMANAC, 1_000, Unit.LINE, 12_000),
+                new Budget(WaitForIt.PART_1, InputFormat.RACE_DISTANCES, 4, Unit.LINE, 640),
+                new Budget(WaitForIt.PART_2, InputFormat.RACE_DISTANCES, 4, Unit.LINE, 480),
+                new Budget(WaitForIt.BOTH, InputFormat.RACE_DISTANCES, 4, Unit.LINE, 800),
+                new Budget(CamelCards.PART_1, InputFormat.HANDS, 100_000, Unit.LINE, 32),
+                new Budget(CamelCards.PART_2, InputFormat.HANDS, 100_000, Unit.LINE, 32),
+                new Budget(CamelCards.BOTH, InputFormat.HANDS, 100_000, Unit.LINE, 2_000),
+                new Budget(HauntedWasteland.PART_1, InputFormat.WASTELAND_MAP, 35_000, Unit.LINE, 0.25),
+                new Budget(HauntedWasteland.PART_2, InputFormat.WASTELAND_MAP, 35_000, Unit.LINE, 1),
+                new Budget(MirageMaintenance.PART_1, InputFormat.SENSOR_REPORT, 20_000, Unit.LINE, 0.25),
+                new Budget(MirageMaintenance.PART_2, InputFormat.SENSOR_REPORT, 20_000, Unit.LINE, 0.25),
+                new Budget(MirageMaintenance.BOTH, InputFormat.SENSOR_REPORT, 20_000, Unit.LINE, 0.25),
+                new Budget(PipeMaze.PART_1, InputFormat.PIPES_BLUEPRINT, 1_000, Unit.CELL, 0.1),
+                new Budget(CosmicExpansion.PART_1, InputFormat.SPACE_IMAGE, 64, Unit.CELL, 4_000),
+                new Budget(CosmicExpansion.PART_2, InputFormat.SPACE_IMAGE, 64, Unit.CELL, 5_000),
+                new Budget(CosmicExpansion.BOTH, InputFormat.SPACE_IMAGE, 64, Unit.CELL, 3_000)
+        );
+    }
+
+    @BeforeAll
+    static void enableAllocationMeasurement() {
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "this JVM does not measure allocated memory per thread");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("budgets")
+    void solverStaysWithinAllocationBudget(Budget budget) throws IOException {
+        byte[] input = GeneratedInputs.bytes(budget.format(), budget.size(), SEED);
+        long units = budget.unit().count(input);
+        long smallest = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            // some solvers change their model, so every run gets a fresh one
+            long allocated = allocatedBySolve(budget.puzzle().solver(), input);
+            if (run >= WARMUP_RUNS) {
+                smallest = Math.min(smallest, allocated);
+            }
+        }
+        double bytesPerUnit = (double) smallest / Math.max(units, 1);
+        assertTrue(bytesPerUnit <= budget.bytesPerUnit(), () -> String.format("%s allocates %.2f B per %s, budget is %.2f",
+                budget.puzzle().id(), bytesPerUnit, budget.unit().name().toLowerCase(), budget.bytesPerUnit()));
+    }
+
+    private static <M> long allocatedBySolve(Solver<M, ?> solver, byte[] input) throws IOException {
+        InputSource source = InputSource.stream("generated", () -> new ByteArrayInputStream(input));
+        // line solvers pass the source through parse and read it while solving, so its copy of the input
+        // is made here and does not count as solver allocation
+        source.bytes();
+        M model = solver.parse(source);
+        Map<Long, Long> before = allocatedBytes();
+        solver.solve(model);
+        Map<Long, Long> after = allocatedBytes();
+        long allocated = 0;
+        for (Map.Entry<Long, Long> thread: after.entrySet()) {
+            allocated += Math.max(0, thread.getValue() - before.getOrDefault(thread.getKey(), 0L));
+        }
+        return allocated;
+    }
+
+    private static Map<Long, Long> allocatedBytes() {
+        long[] ids = threads.getAllThreadIds();
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        Map<Long, Long> bytes = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            // a thread that ended meanwhile reports -1
+            if (allocated[i] >= 0) {
+                bytes.put(ids[i], allocated[i]);
+            }
+        }
+        return bytes;
+    }
+
+    enum Unit {
+        LINE,
+        CELL;
+
+        long count(byte[] input) {
+            long lineBreaks = 0;
+            for (byte character: input) {
+                if (character == '\n') {
+                    lineBreaks++;
+                }
+            }
+            if (this == CELL) {
+                return input.length - lineBreaks;
+            }
+            return input.length > 0 && input[input.length - 1] != '\n' ? lineBreaks + 1 : lineBreaks;
+        }
+    }
+
+    record Budget(Puzzle puzzle, InputFormat format, int size, Unit unit, double bytesPerUnit) {
+        @Override
+        public String toString() {
+            return puzzle.id() + " on " + format + " " + size;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package advent;
+
+import advent.generator.InputFormat;
+import advent.generator.InputGenerators;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.provider.Arguments;
+
+// generated puzzle inputs for tests that compare two ways of solving or parsing the same input
+public class GeneratedInputs {
+    public static final int SEEDS = 5;
+
+    private GeneratedInputs() {
+    }
+
+    // every size with every seed below SEEDS, as (size, seed) arguments
+    public static Stream<Arguments> sizesAndSeeds(int... sizes) {
+        return Arrays.stream(sizes)
+                .boxed()
+                .flatMap(size -> LongStream.range(0, SEEDS).mapToObj(seed -> Arguments.of(size, seed)));
+    }
+
+    public static byte[] bytes(InputFormat format, int size, long seed) {
+        return InputGenerators.generate(format, size, seed).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public static ByteBuffer buffer(InputFormat format, int size, long seed) {
+        return ByteBuffer.wrap(bytes(format, size, seed)).asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,68 @@
+package advent.day2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import advent.GeneratedInputs;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+// every bag read from the prefix table against a scan of all games with isGamePossible
+class BagIndexTest {
+    static final long BAG_SEED = 2023L;
+    static final int BAGS = 3_000;
+    // a little above the largest generated amounts, so some bags fit every game
+    static final int MAX_BAG_KUBES = 24;
+
+    static Stream<Arguments> games() {
+        return GeneratedInputs.sizesAndSeeds(1, 10, 1_000);
+    }
+
+    @ParameterizedTest(name = "size {0}, seed {1}")
+    @MethodSource("games")
+    void fitEqualsGameScan(int size, long seed) {
+        GameTable games = GameTable.read(GeneratedInputs.buffer(InputFormat.KUBE_GAMES, size, seed));
+        BagIndex index = BagIndex.build(games);
+        Random random = new Random(BAG_SEED);
+        List<Bag> bags = IntStream.range(0, BAGS)
+                .mapToObj(bag -> new Bag(random.nextInt(MAX_BAG_KUBES), random.nextInt(MAX_BAG_KUBES), random.nextInt(MAX_BAG_KUBES)))
+                .toList();
+        List<BagIndex.Fit> fits = index.fitAll(bags);
+        for (int i = 0; i < bags.size(); i++) {
+            assertEquals(scan(games, bags.get(i)), fits.get(i), bags.get(i).toString());
+        }
+    }
+
+    // a game showing any colour a bag never holds fits no bag
+    @Test
+    void otherColoursFitNoBag() {
+        GameTable games = GameTable.read(ByteBuffer.wrap("""
+                Game 1: 3 red, 2 green; 1 blue, 4 yellow
+                Game 2: 1 red, 1 green, 1 blue
+                """.getBytes(StandardCharsets.US_ASCII)));
+        Bag bag = new Bag(MAX_BAG_KUBES, MAX_BAG_KUBES, MAX_BAG_KUBES);
+        BagIndex.Fit fit = BagIndex.build(games).fit(bag);
+        assertEquals(new BagIndex.Fit(2, 1), fit);
+        assertEquals(scan(games, bag), fit);
+    }
+
+    static BagIndex.Fit scan(GameTable games, Bag bag) {
+        long idSum = 0;
+        long count = 0;
+        for (int game = 0; game < games.games(); game++) {
+            if (CubeConundrum.Solution1.isGamePossible(games, game, bag)) {
+                idSum += games.id(game);
+                count++;
+            }
+        }
+        return new BagIndex.Fit(idSum, count);
+    }
+}
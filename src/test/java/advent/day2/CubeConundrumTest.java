@@ -0,0 +1,53 @@
+package advent.day2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import advent.GeneratedInputs;
+import advent.InputSource;
+import advent.Puzzle;
+import advent.RunOptions;
+import advent.generator.InputFormat;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+// the game table answers of TABLE against the line scanners of BOTH
+class CubeConundrumTest {
+    static Stream<Arguments> games() {
+        return GeneratedInputs.sizesAndSeeds(1, 10, 1_000, 20_000);
+    }
+
+    @Test
+    void tableAnswersTheBundledExample() throws IOException {
+        Puzzle puzzle = CubeConundrum.TABLE;
+        assertEquals("8 / 2286", puzzle.answer(puzzle.solver(), puzzle.input(new String[0]), RunOptions.none()));
+    }
+
+    @ParameterizedTest(name = "size {0}, seed {1}")
+    @MethodSource("games")
+    void tableEqualsLineScanners(int size, long seed) throws IOException {
+        byte[] games = GeneratedInputs.bytes(InputFormat.KUBE_GAMES, size, seed);
+        assertEquals(answer(CubeConundrum.BOTH, games), answer(CubeConundrum.TABLE, games));
+    }
+
+    // a game showing another colour fits no bag but keeps the power of its red, green and blue cubes
+    @Test
+    void otherColoursLeaveThePowerOfTheStandardOnes() throws IOException {
+        byte[] games = """
+                Game 1: 3 red, 2 green; 1 blue, 4 yellow
+                Game 2: 1 red, 1 green, 1 blue
+                Game 3: 2 red, 2 green
+                """.getBytes(StandardCharsets.US_ASCII);
+        assertEquals("5 / 7", answer(CubeConundrum.TABLE, games));
+    }
+
+    static String answer(Puzzle puzzle, byte[] games) throws IOException {
+        InputSource input = InputSource.stream("games", () -> new ByteArrayInputStream(games));
+        return puzzle.answer(puzzle.solver(), input, RunOptions.none());
+    }
+}
@@ -0,0 +1,90 @@
+package advent.day3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import advent.InputSource;
+import advent.Puzzle;
+import advent.RunOptions;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+// known answers on small schematics, checked through every day 3 puzzle
+class GearRatiosTest {
+    static Stream<Arguments> puzzles() {
+        return Stream.of(GearRatios.PART_1, GearRatios.PART_2, GearRatios.BOTH, GearRatios.STREAMING, GearRatios.PARALLEL)
+                .map(puzzle -> Arguments.of(puzzle.id(), puzzle));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("puzzles")
+    void bundledExample(String id, Puzzle puzzle) throws IOException {
+        InputSource input = puzzle.input(new String[0]);
+        assertEquals(expected(puzzle, 4361, 467835), puzzle.answer(puzzle.solver(), input, RunOptions.none()));
+    }
+
+    // the digits after the first one of a number that ends its row are not numbers of their own
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("puzzles")
+    void numberEndingARowCountsOnce(String id, Puzzle puzzle) throws IOException {
+        String schematic = """
+                ....#.
+                ....58
+                46....
+                """;
+        assertEquals(expected(puzzle, 58, 0), answer(puzzle, schematic));
+    }
+
+    // a number ending one row and a number starting the next stay two numbers
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("puzzles")
+    void numbersDoNotJoinAcrossRows(String id, Puzzle puzzle) throws IOException {
+        String schematic = """
+                .....1
+                2*....
+                """;
+        assertEquals(expected(puzzle, 2, 0), answer(puzzle, schematic));
+    }
+
+    // the 10 is a part of both gears, so it is counted once for part 1 and in both ratios for part 2
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("puzzles")
+    void numberSharedByTwoGears(String id, Puzzle puzzle) throws IOException {
+        String schematic = """
+                ......
+                5*10*7
+                ......
+                """;
+        assertEquals(expected(puzzle, 5 + 10 + 7, 5 * 10 + 10 * 7), answer(puzzle, schematic));
+    }
+
+    // the same sharing with one gear on the row above the number and one on the row below
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("puzzles")
+    void gearsAboveAndBelowOneNumber(String id, Puzzle puzzle) throws IOException {
+        String schematic = """
+                .3*.
+                .12.
+                .*4.
+                """;
+        assertEquals(expected(puzzle, 3 + 12 + 4, 3 * 12 + 12 * 4), answer(puzzle, schematic));
+    }
+
+    static String answer(Puzzle puzzle, String schematic) throws IOException {
+        byte[] bytes = schematic.getBytes(StandardCharsets.US_ASCII);
+        InputSource input = InputSource.stream("schematic", () -> new ByteArrayInputStream(bytes));
+        return puzzle.answer(puzzle.solver(), input, RunOptions.none());
+    }
+
+    static String expected(Puzzle puzzle, long part1, long part2) {
+        return switch (puzzle.part()) {
+            case 1 -> String.valueOf(part1);
+            case 2 -> String.valueOf(part2);
+            default -> part1 + " / " + part2;
+        };
+    }
+}
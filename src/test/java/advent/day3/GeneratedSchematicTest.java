@@ -0,0 +1,36 @@
+package advent.day3;
+
+import advent.GeneratedInputs;
+import advent.Grid;
+import advent.generator.InputFormat;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.provider.Arguments;
+
+// generated schematics for the tests that check another way of solving day 3 against the number labels,
+// with a pool of their own so that several threads take part whatever the machine
+abstract class GeneratedSchematicTest {
+    static final int PARALLELISM = 4;
+
+    static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(PARALLELISM);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    static Stream<Arguments> schematics() {
+        return GeneratedInputs.sizesAndSeeds(1, 2, 10, 140, 1_000);
+    }
+
+    static Grid schematic(int size, long seed) {
+        return GearRatios.buildSchematicMatrix(GeneratedInputs.buffer(InputFormat.ENGINE_SCHEMATIC, size, seed));
+    }
+}
@@ -0,0 +1,24 @@
+package advent.day3;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import advent.Grid;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SchematicBandsTest extends GeneratedSchematicTest {
+    // bands of a single row put a band boundary next to every number and gear, the largest band size leaves
+    // the whole grid in one band
+    static final int[] BAND_ROWS = {1, 2, 3, 64, Integer.MAX_VALUE};
+
+    @ParameterizedTest(name = "size {0}, seed {1}")
+    @MethodSource("schematics")
+    void bandSumsEqualLabelledSums(int size, long seed) {
+        Grid schematic = schematic(size, seed);
+        NumberLabels labels = NumberLabels.label(schematic);
+        long[] expected = {labels.partNumberSum(), labels.gearRatioSum()};
+        for (int bandRows: BAND_ROWS) {
+            assertArrayEquals(expected, SchematicBands.sums(schematic, pool, bandRows), "bands of " + bandRows + " rows");
+        }
+    }
+}
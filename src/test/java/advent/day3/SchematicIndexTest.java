@@ -0,0 +1,57 @@
+package advent.day3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import advent.Grid;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+// rebuilds both sums of generated schematics from index lookups alone and checks the number of every cell
+// against its label; the lookups of one schematic run concurrently on a shared index
+class SchematicIndexTest extends GeneratedSchematicTest {
+    @ParameterizedTest(name = "size {0}, seed {1}")
+    @MethodSource("schematics")
+    void lookupsAgreeWithLabels(int size, long seed) throws ExecutionException, InterruptedException {
+        Grid schematic = schematic(size, seed);
+        NumberLabels labels = NumberLabels.label(schematic);
+        SchematicIndex index = SchematicIndex.build(schematic);
+        assertEquals(labels.partNumberSum(), pool.submit(() -> partNumberSum(index)).get(), "part number sum");
+        assertEquals(labels.gearRatioSum(), pool.submit(() -> gearRatioSum(index)).get(), "gear ratio sum");
+        assertEquals(0, pool.submit(() -> misplacedNumbers(schematic, labels, index)).get(), "misplaced numbers");
+    }
+
+    private static long partNumberSum(SchematicIndex index) {
+        return IntStream.range(0, index.numbers())
+                .parallel()
+                .filter(number -> index.symbolsNear(number).length > 0)
+                .mapToLong(index::value)
+                .sum();
+    }
+
+    private static long gearRatioSum(SchematicIndex index) {
+        return IntStream.range(0, index.symbols())
+                .parallel()
+                .filter(symbol -> index.symbol(symbol) == '*')
+                .mapToObj(symbol -> index.numbersTouching(index.symbolRow(symbol), index.symbolColumn(symbol)))
+                .filter(numbers -> numbers.length == 2)
+                .mapToLong(numbers -> (long) index.value(numbers[0]) * index.value(numbers[1]))
+                .sum();
+    }
+
+    private static long misplacedNumbers(Grid schematic, NumberLabels labels, SchematicIndex index) {
+        return IntStream.range(0, schematic.height())
+                .parallel()
+                .mapToLong(row -> IntStream.range(0, schematic.width())
+                        .filter(column -> {
+                            int number = index.numberAt(row, column);
+                            int label = labels.number(schematic.index(row, column));
+                            return number < 0
+                                    ? label >= 0
+                                    : label < 0 || index.value(number) != labels.value(label) || index.row(number) != row;
+                        })
+                        .count())
+                .sum();
+    }
+}
@@ -0,0 +1,31 @@
+package advent.day5;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import advent.GeneratedInputs;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class AlmanacReaderTest {
+    // tiny chunks put a chunk boundary next to every header and line, the largest leaves a single chunk
+    static final int[] CHUNK_SIZES = {1, 7, 64, 4 << 10, 1 << 20, Integer.MAX_VALUE};
+
+    static Stream<Arguments> almanacs() {
+        return GeneratedInputs.sizesAndSeeds(1, 10, 1_000, 20_000);
+    }
+
+    @ParameterizedTest(name = "size {0}, seed {1}")
+    @MethodSource("almanacs")
+    void parallelReadEqualsSequentialRead(int size, long seed) {
+        AlmanacReader reader = new AlmanacReader();
+        ByteBuffer input = GeneratedInputs.buffer(InputFormat.ALMANAC, size, seed);
+        Almanac expected = reader.readAlmanacSequentially(input.duplicate());
+        for (int chunkSize: CHUNK_SIZES) {
+            assertEquals(expected, reader.readAlmanac(input.duplicate(), chunkSize), "chunks of " + chunkSize + " bytes");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package advent.day8;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import advent.GeneratedInputs;
+import advent.generator.InputFormat;
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class HauntedWastelandTest {
+    // tiny chunks put a chunk boundary next to every line, the largest leaves a single chunk
+    static final int[] CHUNK_SIZES = {1, 7, 64, 4 << 10, 1 << 20, Integer.MAX_VALUE};
+
+    static Stream<Arguments> maps() {
+        return GeneratedInputs.sizesAndSeeds(1, 10, 1_000, 20_000);
+    }
+
+    @ParameterizedTest(name = "size {0}, seed {1}")
+    @MethodSource("maps")
+    void parallelReadEqualsSequentialRead(int size, long seed) {
+        ByteBuffer input = GeneratedInputs.buffer(InputFormat.WASTELAND_MAP, size, seed);
+        HauntedWasteland.WastelandMap expected = HauntedWasteland.readMapSequentially(input.duplicate());
+        for (int chunkSize: CHUNK_SIZES) {
+            assertEquals(expected, HauntedWasteland.readMap(input.duplicate(), chunkSize), "chunks of " + chunkSize + " bytes");
+        }
+    }
+}
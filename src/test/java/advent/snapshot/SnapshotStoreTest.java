@@ -0,0 +1,105 @@
+package advent.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import advent.InputSource;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotStoreTest {
+    static final SnapshotCodec<int[]> INTS = new SnapshotCodec<>() {
+        @Override
+        public String id() {
+            return "ints";
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public void write(int[] model, DataOutputStream output) throws IOException {
+            SnapshotSections.writeInts(output, model);
+        }
+
+        @Override
+        public int[] read(ByteBuffer snapshot) {
+            return SnapshotSections.readInts(snapshot);
+        }
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void truncatedSnapshotIsDroppedInsteadOfThrown() throws IOException {
+        SnapshotStore store = new SnapshotStore(directory.resolve("snapshots"), SnapshotStore.DEFAULT_MAX_BYTES);
+        String key = store.key(INTS, input("1 2 3"));
+        int[] model = {1, 2, 3, 4, 5, 6, 7, 8};
+        store.save(INTS, key, model);
+        assertArrayEquals(model, store.load(INTS, key).orElseThrow());
+
+        Path snapshot = snapshots(directory.resolve("snapshots")).findFirst().orElseThrow();
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 6);
+        }
+        assertEquals(Optional.empty(), store.load(INTS, key));
+        assertFalse(Files.exists(snapshot));
+    }
+
+    @Test
+    void corruptLengthIsDroppedBeforeAllocating() throws IOException {
+        SnapshotStore store = new SnapshotStore(directory.resolve("snapshots"), SnapshotStore.DEFAULT_MAX_BYTES);
+        String key = store.key(INTS, input("1 2 3"));
+        store.save(INTS, key, new int[] {1, 2, 3});
+
+        // the length prefix of the body is the last int before the three values
+        Path snapshot = snapshots(directory.resolve("snapshots")).findFirst().orElseThrow();
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, Integer.MAX_VALUE), channel.size() - 4 * Integer.BYTES);
+        }
+        assertEquals(Optional.empty(), store.load(INTS, key));
+        assertFalse(Files.exists(snapshot));
+    }
+
+    @Test
+    void snapshotsStayWithinTheBound() throws IOException {
+        long maxBytes = 4 << 10;
+        SnapshotStore store = new SnapshotStore(directory.resolve("snapshots"), maxBytes);
+        int[] model = new int[100];
+        for (int i = 0; i < 100; i++) {
+            store.save(INTS, store.key(INTS, input("input " + i)), model);
+        }
+        long totalBytes = 0;
+        for (Path snapshot: (Iterable<Path>) snapshots(directory.resolve("snapshots"))::iterator) {
+            totalBytes += Files.size(snapshot);
+        }
+        assertTrue(totalBytes > 0 && totalBytes <= maxBytes, totalBytes + " bytes");
+    }
+
+    private InputSource input(String text) throws IOException {
+        Path file = Files.createTempFile(directory, "input", ".txt");
+        Files.writeString(file, text, StandardCharsets.US_ASCII);
+        return InputSource.file(file);
+    }
+
+    private static Stream<Path> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".snapshot")).toList().stream();
+        }
+    }
+}